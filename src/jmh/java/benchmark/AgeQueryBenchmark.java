@@ -0,0 +1,103 @@
+package benchmark;
+
+import data.Footballer;
+import data.FootballerStore;
+import data.Gender;
+import data.RosterGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Boxed stream age aggregations from StreamTest against their primitive counterparts. Run with {@code -prof gc}: the
+ * primitive variants should report (close to) zero bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class AgeQueryBenchmark {
+
+    @Param({"1000", "1000000", "10000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    FootballerStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        store = FootballerStore.of(footballerList);
+    }
+
+    @Benchmark
+    public Integer minBoxed() {
+        return footballerList.stream()
+                .map(Footballer::getAge)
+                .min(Integer::compare)
+                .get();
+    }
+
+    @Benchmark
+    public int minPrimitive() {
+        return footballerList.stream()
+                .mapToInt(Footballer::getAge)
+                .min()
+                .getAsInt();
+    }
+
+    @Benchmark
+    public int minStore() {
+        return store.minAge().getAsInt();
+    }
+
+    @Benchmark
+    public long countBoxed() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .map(Footballer::getAge)
+                .filter(age -> age > 24)
+                .count();
+    }
+
+    @Benchmark
+    public long countPrimitive() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender() == Gender.FEMALE)
+                .mapToInt(Footballer::getAge)
+                .filter(age -> age > 24)
+                .count();
+    }
+
+    @Benchmark
+    public int countStore() {
+        return store.count(Gender.FEMALE, age -> age > 24);
+    }
+
+    @Benchmark
+    public double averageBoxed() {
+        return footballerList.stream()
+                .collect(Collectors.averagingInt(Footballer::getAge));
+    }
+
+    @Benchmark
+    public double averageStore() {
+        return store.averageAge().getAsDouble();
+    }
+}
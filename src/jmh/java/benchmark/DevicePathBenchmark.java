@@ -0,0 +1,46 @@
+package benchmark;
+
+import data.Computer;
+import data.DevicePath;
+import data.SoundCard;
+import data.USB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OptionalTest.improvedVersionOfNullChecking against the precompiled {@link DevicePath}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DevicePathBenchmark {
+
+    Computer computer = new Computer();
+
+    @Benchmark
+    public String optionalChain() {
+        return Optional.of(computer)
+                .flatMap(Computer::getSoundCard)
+                .flatMap(SoundCard::getUSB)
+                .map(USB::getVersion)
+                .orElse("UNKNOWN");
+    }
+
+    @Benchmark
+    public String devicePath() {
+        return DevicePath.USB_VERSION.resolve(computer, "UNKNOWN");
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import data.Footballer;
+import data.FootballerQuery;
+import data.FootballerStore;
+import data.Gender;
+import data.RosterGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A chain of stream filters against the same conditions run as one {@link FootballerQuery}, over the object list and
+ * over the columnar store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FootballerQueryBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    FootballerStore store;
+    FootballerQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        store = FootballerStore.of(footballerList);
+        query = FootballerQuery.all().gender(Gender.MALE).olderThan(20).youngerThan(31).plays("ST");
+    }
+
+    @Benchmark
+    public long streamChain() {
+        return footballerList.stream()
+                .filter(f -> f.getGender() == Gender.MALE)
+                .filter(f -> f.getAge() > 20)
+                .filter(f -> f.getAge() < 31)
+                .filter(f -> f.getPositions().contains("ST"))
+                .count();
+    }
+
+    @Benchmark
+    public long queryList() {
+        return query.count(footballerList);
+    }
+
+    @Benchmark
+    public int queryStore() {
+        return query.count(store);
+    }
+
+    @Benchmark
+    public int[] queryStoreRows() {
+        return query.rows(store);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import data.AgeGroups;
+import data.Footballer;
+import data.FootballerStore;
+import data.GroupBy;
+import data.RosterGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Position x gender x age band report: {@code groupingBy} over a parallel stream against {@link GroupBy} over the
+ * columnar store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class GroupByBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    FootballerStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        store = FootballerStore.of(footballerList);
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> groupingByParallel() {
+        return footballerList.parallelStream()
+                .flatMap(f -> f.getPositions().stream().map(p -> new Object[]{p, f}))
+                .collect(Collectors.groupingBy(
+                        pair -> pair[0] + "/" + ((Footballer) pair[1]).getGender() + "/" + ((Footballer) pair[1]).getAge() / 5,
+                        Collectors.summarizingInt(pair -> ((Footballer) pair[1]).getAge())));
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> groupingByConcurrent() {
+        return footballerList.parallelStream()
+                .flatMap(f -> f.getPositions().stream().map(p -> new Object[]{p, f}))
+                .collect(Collectors.groupingByConcurrent(
+                        pair -> pair[0] + "/" + ((Footballer) pair[1]).getGender() + "/" + ((Footballer) pair[1]).getAge() / 5,
+                        Collectors.summarizingInt(pair -> ((Footballer) pair[1]).getAge())));
+    }
+
+    @Benchmark
+    public AgeGroups groupBy() {
+        return GroupBy.by().position().gender().ageBand(5).aggregate(store);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import data.Footballer;
+import data.Gender;
+import data.Instrumented;
+import data.MetricsRegistry;
+import data.RosterGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The same pipeline plain, wrapped with instrumentation disabled (should match plain) and with it enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class InstrumentedBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    MetricsRegistry enabled;
+    MetricsRegistry disabled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        enabled = new MetricsRegistry(true);
+        disabled = new MetricsRegistry(false);
+    }
+
+    @Benchmark
+    public List<String> plain() {
+        return pipeline(footballerList.stream());
+    }
+
+    @Benchmark
+    public List<String> disabled() {
+        return pipeline(Instrumented.of(footballerList.stream(), "pipeline", disabled));
+    }
+
+    @Benchmark
+    public List<String> enabled() {
+        return pipeline(Instrumented.of(footballerList.stream(), "pipeline", enabled));
+    }
+
+    private static List<String> pipeline(Stream<Footballer> stream) {
+        return stream
+                .filter(f -> f.getGender() == Gender.FEMALE)
+                .sorted(Comparator.comparing(Footballer::getName))
+                .map(Footballer::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import data.Footballer;
+import data.FootballerStore;
+import data.Gender;
+import data.OffHeapRoster;
+import data.RosterGenerator;
+import data.SortKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The same queries over a list of objects, the columnar store and the off-heap roster. Run with {@code -prof gc}
+ * and compare the heap after setup: the off-heap roster keeps only segment references on the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-XX:MaxDirectMemorySize=8g"})
+public class OffHeapRosterBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    FootballerStore store;
+    OffHeapRoster offHeap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        store = FootballerStore.of(footballerList);
+        offHeap = OffHeapRoster.of(store);
+    }
+
+    @Benchmark
+    public long countList() {
+        return footballerList.stream()
+                .filter(f -> f.getGender() == Gender.FEMALE && f.getAge() > 23)
+                .count();
+    }
+
+    @Benchmark
+    public int countStore() {
+        return store.count(Gender.FEMALE, 24, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int countOffHeap() {
+        return offHeap.count(Gender.FEMALE, 24, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] firstPageOffHeap() {
+        return offHeap.sorted(0, 20, SortKey.GENDER, SortKey.AGE);
+    }
+}
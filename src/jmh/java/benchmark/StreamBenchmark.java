@@ -0,0 +1,470 @@
+package benchmark;
+
+import data.Footballer;
+import data.Gender;
+import data.RosterGenerator;
+import data.TopK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Every StreamTest operation over a generated roster, each in a sequential stream, parallel stream and hand-written
+ * loop variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class StreamBenchmark {
+
+    private static final Comparator<Footballer> BY_GENDER_AND_NAME =
+            Comparator.comparing(Footballer::getGender).thenComparing(Footballer::getName);
+
+    @Param({"1000", "1000000", "10000000"})
+    public int size;
+
+    List<Footballer> footballerList;
+    List<Footballer> sortedByAge;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        footballerList = new RosterGenerator(42).stream(size).collect(Collectors.toCollection(ArrayList::new));
+        sortedByAge = new ArrayList<>(footballerList);
+        sortedByAge.sort(Comparator.comparingInt(Footballer::getAge));
+    }
+
+    // filter: FEMALE and older than 23
+
+    @Benchmark
+    public List<Footballer> filterSequential() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .filter(footballer -> footballer.getAge() > 23)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> filterParallel() {
+        return footballerList.parallelStream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .filter(footballer -> footballer.getAge() > 23)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> filterLoop() {
+        List<Footballer> result = new ArrayList<>();
+        for (Footballer footballer : footballerList) {
+            if (footballer.getGender() == Gender.FEMALE && footballer.getAge() > 23) {
+                result.add(footballer);
+            }
+        }
+        return result;
+    }
+
+    // map: count FEMALE ages over 24
+
+    @Benchmark
+    public long mapSequential() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .map(Footballer::getAge)
+                .filter(age -> age > 24)
+                .count();
+    }
+
+    @Benchmark
+    public long mapParallel() {
+        return footballerList.parallelStream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .map(Footballer::getAge)
+                .filter(age -> age > 24)
+                .count();
+    }
+
+    @Benchmark
+    public long mapLoop() {
+        long count = 0;
+        for (Footballer footballer : footballerList) {
+            if (footballer.getGender() == Gender.FEMALE && footballer.getAge() > 24) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // flatMap: positions of MALE players under 30
+
+    @Benchmark
+    public String flatMapSequential() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.MALE))
+                .filter(footballer -> footballer.getAge() < 30)
+                .map(Footballer::getPositions)
+                .flatMap(Collection::stream)
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public String flatMapParallel() {
+        return footballerList.parallelStream()
+                .filter(footballer -> footballer.getGender().equals(Gender.MALE))
+                .filter(footballer -> footballer.getAge() < 30)
+                .map(Footballer::getPositions)
+                .flatMap(Collection::stream)
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public String flatMapLoop() {
+        StringBuilder joined = new StringBuilder();
+        for (Footballer footballer : footballerList) {
+            if (footballer.getGender() == Gender.MALE && footballer.getAge() < 30) {
+                for (String position : footballer.getPositions()) {
+                    if (joined.length() > 0) {
+                        joined.append(',');
+                    }
+                    joined.append(position);
+                }
+            }
+        }
+        return joined.toString();
+    }
+
+    // distinct: unique positions of MALE players under 30
+
+    @Benchmark
+    public String distinctSequential() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.MALE))
+                .filter(footballer -> footballer.getAge() < 30)
+                .map(Footballer::getPositions)
+                .flatMap(Collection::stream)
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public String distinctParallel() {
+        return footballerList.parallelStream()
+                .filter(footballer -> footballer.getGender().equals(Gender.MALE))
+                .filter(footballer -> footballer.getAge() < 30)
+                .map(Footballer::getPositions)
+                .flatMap(Collection::stream)
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public String distinctLoop() {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (Footballer footballer : footballerList) {
+            if (footballer.getGender() == Gender.MALE && footballer.getAge() < 30) {
+                distinct.addAll(footballer.getPositions());
+            }
+        }
+        return String.join(",", distinct);
+    }
+
+    // sorted: by gender then name
+
+    @Benchmark
+    public List<Footballer> sortedSequential() {
+        return footballerList.stream()
+                .sorted(BY_GENDER_AND_NAME)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> sortedParallel() {
+        return footballerList.parallelStream()
+                .sorted(BY_GENDER_AND_NAME)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> sortedLoop() {
+        Footballer[] sorted = footballerList.toArray(new Footballer[0]);
+        Arrays.sort(sorted, BY_GENDER_AND_NAME);
+        return Arrays.asList(sorted);
+    }
+
+    // limit: first two by gender then name
+
+    @Benchmark
+    public List<Footballer> limitSequential() {
+        return footballerList.stream()
+                .sorted(BY_GENDER_AND_NAME)
+                .limit(2)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> limitParallel() {
+        return footballerList.parallelStream()
+                .sorted(BY_GENDER_AND_NAME)
+                .limit(2)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> limitLoop() {
+        return smallest(2);
+    }
+
+    @Benchmark
+    public List<Footballer> limitTopK() {
+        return footballerList.stream().collect(TopK.first(2, BY_GENDER_AND_NAME));
+    }
+
+    @Benchmark
+    public List<Footballer> limitTopKParallel() {
+        return footballerList.parallelStream().collect(TopK.first(2, BY_GENDER_AND_NAME));
+    }
+
+    // page: skip 5, take 3 by gender then name
+
+    @Benchmark
+    public List<Footballer> pageSequential() {
+        return footballerList.stream()
+                .sorted(BY_GENDER_AND_NAME)
+                .skip(5)
+                .limit(3)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> pageTopK() {
+        return footballerList.stream().collect(TopK.page(5, 3, BY_GENDER_AND_NAME));
+    }
+
+    @Benchmark
+    public List<Footballer> pageTopKParallel() {
+        return footballerList.parallelStream().collect(TopK.page(5, 3, BY_GENDER_AND_NAME));
+    }
+
+    // skip: everything after the first five by gender then name
+
+    @Benchmark
+    public List<Footballer> skipSequential() {
+        return footballerList.stream()
+                .sorted(BY_GENDER_AND_NAME)
+                .skip(5)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> skipParallel() {
+        return footballerList.parallelStream()
+                .sorted(BY_GENDER_AND_NAME)
+                .skip(5)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> skipLoop() {
+        Footballer[] sorted = footballerList.toArray(new Footballer[0]);
+        Arrays.sort(sorted, BY_GENDER_AND_NAME);
+        return Arrays.asList(sorted).subList(Math.min(5, sorted.length), sorted.length);
+    }
+
+    // takeWhile / dropWhile: players younger than 25 over the roster sorted by age
+
+    @Benchmark
+    public List<Footballer> takeWhileSequential() {
+        return sortedByAge.stream()
+                .takeWhile(footballer -> footballer.getAge() < 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> takeWhileParallel() {
+        return sortedByAge.parallelStream()
+                .takeWhile(footballer -> footballer.getAge() < 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> takeWhileLoop() {
+        List<Footballer> result = new ArrayList<>();
+        for (Footballer footballer : sortedByAge) {
+            if (footballer.getAge() >= 25) {
+                break;
+            }
+            result.add(footballer);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Footballer> dropWhileSequential() {
+        return sortedByAge.stream()
+                .dropWhile(footballer -> footballer.getAge() < 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> dropWhileParallel() {
+        return sortedByAge.parallelStream()
+                .dropWhile(footballer -> footballer.getAge() < 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> dropWhileLoop() {
+        int from = 0;
+        while (from < sortedByAge.size() && sortedByAge.get(from).getAge() < 25) {
+            from++;
+        }
+        return new ArrayList<>(sortedByAge.subList(from, sortedByAge.size()));
+    }
+
+    // min / max age
+
+    @Benchmark
+    public Integer minSequential() {
+        return footballerList.stream()
+                .map(Footballer::getAge)
+                .min(Integer::compare)
+                .get();
+    }
+
+    @Benchmark
+    public Integer minParallel() {
+        return footballerList.parallelStream()
+                .map(Footballer::getAge)
+                .min(Integer::compare)
+                .get();
+    }
+
+    @Benchmark
+    public int minLoop() {
+        int min = Integer.MAX_VALUE;
+        for (Footballer footballer : footballerList) {
+            min = Math.min(min, footballer.getAge());
+        }
+        return min;
+    }
+
+    @Benchmark
+    public Integer maxSequential() {
+        return footballerList.stream()
+                .max(Comparator.comparing(Footballer::getAge))
+                .map(Footballer::getAge)
+                .get();
+    }
+
+    @Benchmark
+    public Integer maxParallel() {
+        return footballerList.parallelStream()
+                .max(Comparator.comparing(Footballer::getAge))
+                .map(Footballer::getAge)
+                .get();
+    }
+
+    @Benchmark
+    public int maxLoop() {
+        int max = Integer.MIN_VALUE;
+        for (Footballer footballer : footballerList) {
+            max = Math.max(max, footballer.getAge());
+        }
+        return max;
+    }
+
+    // reduce: longest name
+
+    @Benchmark
+    public Optional<String> reduceSequential() {
+        return footballerList.stream()
+                .map(Footballer::getName)
+                .reduce((name1, name2) -> name1.length() > name2.length() ? name1 : name2);
+    }
+
+    @Benchmark
+    public Optional<String> reduceParallel() {
+        return footballerList.parallelStream()
+                .map(Footballer::getName)
+                .reduce((name1, name2) -> name1.length() > name2.length() ? name1 : name2);
+    }
+
+    @Benchmark
+    public String reduceLoop() {
+        String longest = null;
+        for (Footballer footballer : footballerList) {
+            String name = footballer.getName();
+            if (longest == null || name.length() >= longest.length()) {
+                longest = name;
+            }
+        }
+        return longest;
+    }
+
+    // collect: FEMALE players older than 25
+
+    @Benchmark
+    public List<Footballer> collectSequential() {
+        return footballerList.stream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .filter(footballer -> footballer.getAge() > 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> collectParallel() {
+        return footballerList.parallelStream()
+                .filter(footballer -> footballer.getGender().equals(Gender.FEMALE))
+                .filter(footballer -> footballer.getAge() > 25)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Footballer> collectLoop() {
+        List<Footballer> result = new ArrayList<>();
+        for (Footballer footballer : footballerList) {
+            if (footballer.getGender() == Gender.FEMALE && footballer.getAge() > 25) {
+                result.add(footballer);
+            }
+        }
+        return result;
+    }
+
+    private List<Footballer> smallest(int k) {
+        Footballer[] best = new Footballer[k];
+        int filled = 0;
+        for (Footballer footballer : footballerList) {
+            if (filled == k && BY_GENDER_AND_NAME.compare(footballer, best[k - 1]) >= 0) {
+                continue;
+            }
+            int i = filled == k ? k - 1 : filled++;
+            while (i > 0 && BY_GENDER_AND_NAME.compare(footballer, best[i - 1]) < 0) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = footballer;
+        }
+        return Arrays.asList(Arrays.copyOf(best, filled));
+    }
+}
@@ -0,0 +1,179 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * Result of a {@link GroupBy}: count and sum, min and max of age for every group, in dense primitive arrays indexed
+ * by group number. Look a group up with {@link #group(Gender, String, int)} and read its numbers with the
+ * {@code int} accessors, or visit all non empty groups with {@link #forEach(GroupVisitor)}; neither boxes.
+ */
+public final class AgeGroups {
+
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final Shape shape;
+    private final long[] counts;
+    private final long[] ageSums;
+    private final int[] minAges;
+    private final int[] maxAges;
+
+    AgeGroups(Shape shape) {
+        int groups = shape.groups();
+        this.shape = shape;
+        this.counts = new long[groups];
+        this.ageSums = new long[groups];
+        this.minAges = new int[groups];
+        this.maxAges = new int[groups];
+        Arrays.fill(minAges, Integer.MAX_VALUE);
+        Arrays.fill(maxAges, Integer.MIN_VALUE);
+    }
+
+    public int groups() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the group of the given key, or -1 if the position is unknown. Parts of the key the grouping does not
+     * use are ignored and may be null.
+     */
+    public int group(Gender gender, String position, int age) {
+        int group = 0;
+        if (shape.gender) {
+            group += gender.ordinal() * shape.genderStride();
+        }
+        if (shape.positions != null) {
+            int code = shape.positions.find(position);
+            if (code < 0 || code >= shape.positionCount) {
+                return -1;
+            }
+            group += code * shape.positionStride();
+        }
+        if (shape.bandWidth > 0) {
+            group += Math.min(Math.max(age, 0), GroupBy.MAX_AGE) / shape.bandWidth;
+        }
+        return group;
+    }
+
+    public long count(int group) {
+        return counts[group];
+    }
+
+    public long ageSum(int group) {
+        return ageSums[group];
+    }
+
+    /**
+     * Youngest age in the group, or {@code Integer.MAX_VALUE} if it is empty.
+     */
+    public int minAge(int group) {
+        return minAges[group];
+    }
+
+    /**
+     * Oldest age in the group, or {@code Integer.MIN_VALUE} if it is empty.
+     */
+    public int maxAge(int group) {
+        return maxAges[group];
+    }
+
+    public double averageAge(int group) {
+        return counts[group] == 0 ? Double.NaN : (double) ageSums[group] / counts[group];
+    }
+
+    public long count(Gender gender, String position, int age) {
+        int group = group(gender, position, age);
+        return group < 0 ? 0 : counts[group];
+    }
+
+    /**
+     * Visits every non empty group in group order.
+     */
+    public void forEach(GroupVisitor visitor) {
+        for (int group = 0; group < counts.length; group++) {
+            if (counts[group] == 0) {
+                continue;
+            }
+            Gender gender = shape.gender ? GENDERS[group / shape.genderStride()] : null;
+            String position = shape.positions != null
+                    ? shape.positions.position(group / shape.positionStride() % shape.positionCount)
+                    : null;
+            int bandStart = shape.bandWidth > 0 ? group % shape.bands * shape.bandWidth : -1;
+            visitor.visit(gender, position, bandStart, counts[group], ageSums[group], minAges[group], maxAges[group]);
+        }
+    }
+
+    void add(int group, int age) {
+        counts[group]++;
+        ageSums[group] += age;
+        if (age < minAges[group]) {
+            minAges[group] = age;
+        }
+        if (age > maxAges[group]) {
+            maxAges[group] = age;
+        }
+    }
+
+    AgeGroups merge(AgeGroups other) {
+        for (int group = 0; group < counts.length; group++) {
+            counts[group] += other.counts[group];
+            ageSums[group] += other.ageSums[group];
+            minAges[group] = Math.min(minAges[group], other.minAges[group]);
+            maxAges[group] = Math.max(maxAges[group], other.maxAges[group]);
+        }
+        return this;
+    }
+
+    public interface GroupVisitor {
+
+        /**
+         * Called once per non empty group. {@code gender} and {@code position} are null and {@code bandStart} is -1
+         * when the grouping does not use them.
+         */
+        void visit(Gender gender, String position, int bandStart, long count, long ageSum, int minAge, int maxAge);
+    }
+
+    /**
+     * Group numbering: {@code (gender * positions + position) * bands + band}, where unused keys count as a single
+     * value. Positions are fixed when the grouping starts, so later dictionary codes don't shift the numbering.
+     */
+    static final class Shape {
+
+        private final boolean gender;
+        private final PositionDictionary positions;
+        private final int positionCount;
+        private final int bandWidth;
+        private final int bands;
+
+        Shape(boolean gender, PositionDictionary positions, int bandWidth) {
+            this.gender = gender;
+            this.positions = positions;
+            this.positionCount = positions == null ? 1 : Math.max(1, positions.size());
+            this.bandWidth = bandWidth;
+            this.bands = bandWidth > 0 ? GroupBy.MAX_AGE / bandWidth + 1 : 1;
+        }
+
+        boolean gender() {
+            return gender;
+        }
+
+        boolean position() {
+            return positions != null;
+        }
+
+        int bandWidth() {
+            return bandWidth;
+        }
+
+        int positionStride() {
+            return bands;
+        }
+
+        int genderStride() {
+            return positionCount * bands;
+        }
+
+        int groups() {
+            return (gender ? GENDERS.length : 1) * genderStride();
+        }
+    }
+}
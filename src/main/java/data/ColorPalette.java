@@ -0,0 +1,30 @@
+package data;
+
+import java.awt.Color;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intern table turning packed ARGB values back into shared {@link Color} instances, so AWT is only touched when a
+ * caller actually asks for a {@code Color}. Meant for palettes: past {@value #MAX_COLORS} distinct values new
+ * colors are created on every call instead of being interned.
+ */
+final class ColorPalette {
+
+    private static final int MAX_COLORS = 4096;
+
+    private static final ConcurrentHashMap<Integer, Color> COLORS = new ConcurrentHashMap<>();
+
+    private ColorPalette() {
+    }
+
+    static Color color(int argb) {
+        Color color = COLORS.get(argb);
+        if (color != null) {
+            return color;
+        }
+        if (COLORS.size() >= MAX_COLORS) {
+            return new Color(argb, true);
+        }
+        return COLORS.computeIfAbsent(argb, value -> new Color(value, true));
+    }
+}
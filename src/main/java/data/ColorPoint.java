@@ -3,18 +3,46 @@ package data;
 import java.awt.*;
 
 public class ColorPoint extends Point {
-    private final Color color;
+    private final int argb;
 
     public ColorPoint(int x, int y, Color color) {
+        this(x, y, color.getRGB());
+    }
+
+    public ColorPoint(int x, int y, int argb) {
         super(x, y);
-        this.color = color;
+        this.argb = argb;
+    }
+
+    /**
+     * Returns a canonical, possibly shared, colored point. See {@link PointCache}.
+     */
+    public static ColorPoint of(int x, int y, Color color) {
+        return of(x, y, color.getRGB());
+    }
+
+    public static ColorPoint of(int x, int y, int argb) {
+        return PointCache.colorPoints().colorPoint(x, y, argb);
+    }
+
+    public int getArgb() {
+        return argb;
+    }
+
+    /**
+     * Returns the shared {@link Color} instance for this point's ARGB value.
+     */
+    public Color getColor() {
+        return ColorPalette.color(argb);
     }
 
     @Override
     public boolean equals(Object o) {
+        if (o == this)
+            return true;
         if (!(o instanceof ColorPoint))
             return false;
-        return super.equals(o) && ((ColorPoint) o).color == color;
+        return super.equals(o) && ((ColorPoint) o).argb == argb;
     }
 
 }
@@ -0,0 +1,111 @@
+package data;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Colored points kept as three parallel {@code int} arrays (x, y and packed ARGB): 12 bytes per point, no object
+ * per point and no {@link Color} per point.
+ */
+public class ColorPointStore {
+
+    private int[] xs;
+    private int[] ys;
+    private int[] argbs;
+    private int size;
+
+    public ColorPointStore() {
+        this(16);
+    }
+
+    public ColorPointStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.argbs = new int[capacity];
+    }
+
+    public int add(ColorPoint point) {
+        return add(point.getX(), point.getY(), point.getArgb());
+    }
+
+    public int add(int x, int y, Color color) {
+        return add(x, y, color.getRGB());
+    }
+
+    public int add(int x, int y, int argb) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            argbs = Arrays.copyOf(argbs, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        argbs[size] = argb;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int row) {
+        checkRow(row);
+        return xs[row];
+    }
+
+    public int getY(int row) {
+        checkRow(row);
+        return ys[row];
+    }
+
+    public int getArgb(int row) {
+        checkRow(row);
+        return argbs[row];
+    }
+
+    public ColorPoint get(int row) {
+        checkRow(row);
+        return new ColorPoint(xs[row], ys[row], argbs[row]);
+    }
+
+    public int count(Color color) {
+        return count(color.getRGB());
+    }
+
+    public int count(int argb) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (argbs[i] == argb) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows of the points of the given color inside the rectangle, bounds inclusive.
+     */
+    public int[] select(int minX, int minY, int maxX, int maxY, int argb) {
+        int[] rows = new int[Math.min(size, 16)];
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            int x = xs[i];
+            int y = ys[i];
+            if (argbs[i] == argb && x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                if (found == rows.length) {
+                    rows = Arrays.copyOf(rows, found * 2);
+                }
+                rows[found++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+}
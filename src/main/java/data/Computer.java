@@ -2,14 +2,40 @@ package data;
 
 import java.util.Optional;
 
+/**
+ * A computer built with {@code new Computer()} creates its sound card on first access only; concurrent first accesses
+ * still create exactly one.
+ */
 public class Computer {
 
-    private Optional<SoundCard> soundCard;
+    private static final SoundCard PENDING = new SoundCard(null);
+
+    private final Object lock = new Object();
+
+    private volatile SoundCard soundCard;
 
     public Computer() {
-        this.soundCard = Optional.of(new SoundCard());
+        this.soundCard = PENDING;
+    }
+
+    public Computer(SoundCard soundCard) {
+        this.soundCard = soundCard;
     }
+
     public Optional<SoundCard> getSoundCard() {
-        return this.soundCard;
+        return Optional.ofNullable(soundCardOrNull());
+    }
+
+    SoundCard soundCardOrNull() {
+        SoundCard current = this.soundCard;
+        if (current == PENDING) {
+            synchronized (lock) {
+                current = this.soundCard;
+                if (current == PENDING) {
+                    this.soundCard = current = new SoundCard();
+                }
+            }
+        }
+        return current;
     }
 }
@@ -0,0 +1,116 @@
+package data;
+
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Approximate frequencies in fixed memory. {@link #estimate(CharSequence)} never undercounts, and with probability
+ * {@code 1 - delta} overcounts by at most {@code epsilon} times the total count. Sketches with the same dimensions
+ * merge by adding their counters.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive: " + width + ", " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[Math.multiplyExact(width, depth)];
+    }
+
+    /**
+     * A sketch overcounting by at most {@code epsilon * total} with probability {@code 1 - delta}.
+     */
+    public static CountMinSketch withError(double epsilon, double delta) {
+        return new CountMinSketch(widthFor(epsilon), depthFor(delta));
+    }
+
+    public static <T> Collector<T, ?, CountMinSketch> collector(double epsilon, double delta,
+                                                               Function<? super T, ? extends CharSequence> key) {
+        int width = widthFor(epsilon);
+        int depth = depthFor(delta);
+        return Collector.of(() -> new CountMinSketch(width, depth), (sketch, t) -> sketch.add(key.apply(t)),
+                CountMinSketch::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Sum of all counts added.
+     */
+    public long total() {
+        return total;
+    }
+
+    public void add(CharSequence value) {
+        add(value, 1);
+    }
+
+    public void add(CharSequence value, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        long hash = SketchHash.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(h1, h2, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(CharSequence value) {
+        long hash = SketchHash.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + column(h1, h2, row)]);
+        }
+        return min;
+    }
+
+    public CountMinSketch merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Dimension mismatch: " + width + "x" + depth + " and " + other.width + "x" + other.depth);
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+        return this;
+    }
+
+    /**
+     * Row hashes derived from one 64 bit hash as {@code h1 + row * h2}.
+     */
+    private int column(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static int widthFor(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be in (0, 1): " + epsilon);
+        }
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    private static int depthFor(double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Delta must be in (0, 1): " + delta);
+        }
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+}
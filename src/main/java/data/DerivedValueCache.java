@@ -0,0 +1,53 @@
+package data;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache of values derived from a key, computed at most once per key until explicitly invalidated or
+ * evicted. It holds at most {@code maxSize} values: a miss on a full cache first evicts an arbitrary entry, so
+ * concurrent misses may briefly overshoot the bound by the number of racing threads.
+ */
+public class DerivedValueCache<K, V> {
+
+    private final ConcurrentHashMap<K, V> values = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> loader;
+    private final int maxSize;
+
+    public DerivedValueCache(Function<? super K, ? extends V> loader, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.loader = loader;
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+        Iterator<K> keys = values.keySet().iterator();
+        while (values.size() >= maxSize && keys.hasNext()) {
+            values.remove(keys.next());
+        }
+        return values.computeIfAbsent(key, loader);
+    }
+
+    public void invalidate(K key) {
+        values.remove(key);
+    }
+
+    public void invalidateAll() {
+        values.clear();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+}
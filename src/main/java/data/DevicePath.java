@@ -0,0 +1,47 @@
+package data;
+
+import java.util.function.Function;
+
+/**
+ * A precompiled walk from a {@link Computer} down its device chain. Equivalent to
+ * <pre>
+ * Optional.ofNullable(computer).flatMap(Computer::getSoundCard).flatMap(SoundCard::getUSB).map(USB::getVersion)
+ * </pre>
+ * but the constants below follow the nullable fields directly, so resolving them allocates nothing.
+ */
+@FunctionalInterface
+public interface DevicePath<T> {
+
+    DevicePath<SoundCard> SOUND_CARD = Computer::soundCardOrNull;
+
+    DevicePath<USB> SOUND_CARD_USB = computer -> {
+        SoundCard soundCard = computer.soundCardOrNull();
+        return soundCard == null ? null : soundCard.usbOrNull();
+    };
+
+    DevicePath<String> USB_VERSION = computer -> {
+        SoundCard soundCard = computer.soundCardOrNull();
+        USB usb = soundCard == null ? null : soundCard.usbOrNull();
+        return usb == null ? null : usb.getVersion();
+    };
+
+    /**
+     * Returns the value at the end of the path, or {@code null} if any hop is missing.
+     */
+    T resolveOrNull(Computer computer);
+
+    default T resolve(Computer computer, T defaultValue) {
+        T value = computer == null ? null : resolveOrNull(computer);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Extends the path by one more hop; a {@code null} anywhere short-circuits to {@code null}.
+     */
+    default <R> DevicePath<R> then(Function<? super T, ? extends R> step) {
+        return computer -> {
+            T value = resolveOrNull(computer);
+            return value == null ? null : step.apply(value);
+        };
+    }
+}
@@ -1,13 +1,20 @@
 package data;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Predicate;
 
 public class Footballer {
 
+    private static final AtomicIntegerFieldUpdater<Footballer> AGE =
+            AtomicIntegerFieldUpdater.newUpdater(Footballer.class, "age");
+
     private final String name;
-    private int age;
+    private volatile int age;
     private final Gender gender;
     private final List<String> positions;
+    private volatile Roster roster;
 
     public int getAge() {
         return age;
@@ -32,8 +39,49 @@ public class Footballer {
         return positions;
     }
 
+    /**
+     * Atomically increments the age, so concurrent calls (e.g. from a parallel stream) never lose an update. When the
+     * footballer belongs to a {@link Roster}, its listeners are notified of the change.
+     */
     public void increaseAge(){
-        this.age++;
+        Roster owner = roster;
+        if (owner == null || !owner.increaseAge(this)) {
+            incrementAge();
+        }
+    }
+
+    int incrementAge() {
+        return AGE.incrementAndGet(this);
+    }
+
+    Roster roster() {
+        return roster;
+    }
+
+    void roster(Roster roster) {
+        this.roster = roster;
+    }
+
+    /**
+     * Ages every footballer by one year, splitting the work across cores.
+     */
+    public static void ageAll(Collection<? extends Footballer> footballers) {
+        footballers.parallelStream().forEach(Footballer::increaseAge);
+    }
+
+    /**
+     * Ages by one year every footballer matching the predicate, splitting the work across cores.
+     *
+     * @return the number of footballers aged
+     */
+    public static long ageWhere(Collection<? extends Footballer> footballers, Predicate<? super Footballer> predicate) {
+        return footballers.parallelStream()
+                .filter(predicate)
+                .mapToLong(footballer -> {
+                    footballer.increaseAge();
+                    return 1L;
+                })
+                .sum();
     }
 
     @Override
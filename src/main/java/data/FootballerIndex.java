@@ -0,0 +1,148 @@
+package data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Secondary indexes over a {@link FootballerStore}: one bitmap of rows per {@link Gender} and the rows sorted by
+ * age. Conjunctive queries such as "FEMALE and age &gt; 23" binary search the age index for the matching range and
+ * intersect it with the gender bitmap, walking whichever side is smaller.
+ * <p>
+ * The index is a snapshot of the store when it was built; rebuild it once {@link #isStale()} reports that rows have
+ * been added or aged since.
+ */
+public class FootballerIndex {
+
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final FootballerStore store;
+    private final int size;
+    private final long version;
+    private final BitSet[] genderRows;
+    private final int[] genderCounts;
+    private final int[] sortedAges;
+    private final int[] rowsByAge;
+
+    public FootballerIndex(FootballerStore store) {
+        this.store = store;
+        this.size = store.size();
+        this.version = store.version();
+        this.genderRows = new BitSet[GENDERS.length];
+        this.genderCounts = new int[GENDERS.length];
+        for (int g = 0; g < GENDERS.length; g++) {
+            genderRows[g] = new BitSet(size);
+        }
+
+        long[] ageAndRow = new long[size];
+        for (int row = 0; row < size; row++) {
+            int g = store.getGender(row).ordinal();
+            genderRows[g].set(row);
+            genderCounts[g]++;
+            ageAndRow[row] = ((long) store.getAge(row) << 32) | row;
+        }
+        Arrays.sort(ageAndRow);
+
+        this.sortedAges = new int[size];
+        this.rowsByAge = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedAges[i] = (int) (ageAndRow[i] >> 32);
+            rowsByAge[i] = (int) ageAndRow[i];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isStale() {
+        return store.version() != version;
+    }
+
+    public int count(Gender gender) {
+        return genderCounts[gender.ordinal()];
+    }
+
+    /**
+     * Counts players whose age lies in {@code [minAge, maxAge]} in O(log n).
+     */
+    public int countByAge(int minAge, int maxAge) {
+        return Math.max(0, upperBound(maxAge) - lowerBound(minAge));
+    }
+
+    public BitSet rows(Gender gender) {
+        return (BitSet) genderRows[gender.ordinal()].clone();
+    }
+
+    public BitSet rowsByAge(int minAge, int maxAge) {
+        BitSet rows = new BitSet(size);
+        for (int i = lowerBound(minAge), to = upperBound(maxAge); i < to; i++) {
+            rows.set(rowsByAge[i]);
+        }
+        return rows;
+    }
+
+    public int count(Gender gender, int minAge, int maxAge) {
+        return select(gender, minAge, maxAge).length;
+    }
+
+    /**
+     * Returns the rows of players of the given gender whose age lies in {@code [minAge, maxAge]}, in insertion order.
+     */
+    public int[] select(Gender gender, int minAge, int maxAge) {
+        int from = lowerBound(minAge);
+        int to = upperBound(maxAge);
+        if (from >= to) {
+            return new int[0];
+        }
+        BitSet byGender = genderRows[gender.ordinal()];
+        if (to - from <= genderCounts[gender.ordinal()]) {
+            int[] rows = new int[to - from];
+            int found = 0;
+            for (int i = from; i < to; i++) {
+                if (byGender.get(rowsByAge[i])) {
+                    rows[found++] = rowsByAge[i];
+                }
+            }
+            rows = Arrays.copyOf(rows, found);
+            Arrays.sort(rows);
+            return rows;
+        }
+        int[] rows = new int[Math.min(to - from, genderCounts[gender.ordinal()])];
+        int found = 0;
+        for (int row = byGender.nextSetBit(0); row >= 0; row = byGender.nextSetBit(row + 1)) {
+            int age = store.getAge(row);
+            if (age >= minAge && age <= maxAge) {
+                rows[found++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    private int lowerBound(int age) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAges[mid] < age) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(int age) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAges[mid] <= age) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,376 @@
+package data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * An immutable conjunction of conditions on footballer fields, e.g.
+ * <pre>
+ * FootballerQuery.all().gender(Gender.FEMALE).olderThan(23).count(store)
+ * </pre>
+ * Instead of a chain of stream stages with one lambda each, conditions are folded as they are added: gender
+ * conditions into a bitmask of allowed genders, age comparisons into a single {@code [minAge, maxAge]} range and
+ * positions into a bitmask resolved against the store's dictionary. Running the query is then one fused loop over
+ * the store's primitive columns, picked by the query's shape so that unused conditions cost nothing.
+ * <p>
+ * Queries compare equal when they describe the same conditions, whatever order they were written in.
+ */
+public final class FootballerQuery {
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final int ALL_GENDERS = (1 << GENDERS.length) - 1;
+    private static final FootballerQuery ALL = new FootballerQuery(ALL_GENDERS, Integer.MIN_VALUE, Integer.MAX_VALUE,
+            null, Collections.emptySortedSet());
+
+    private final int genderMask;
+    private final int minAge;
+    private final int maxAge;
+    private final String name;
+    private final SortedSet<String> positions;
+
+    private FootballerQuery(int genderMask, int minAge, int maxAge, String name, SortedSet<String> positions) {
+        boolean empty = genderMask == 0 || minAge > maxAge;
+        this.genderMask = empty ? 0 : genderMask;
+        this.minAge = empty ? 0 : minAge;
+        this.maxAge = empty ? -1 : maxAge;
+        this.name = empty ? null : name;
+        this.positions = empty ? Collections.emptySortedSet() : positions;
+    }
+
+    public static FootballerQuery all() {
+        return ALL;
+    }
+
+    public FootballerQuery gender(Gender gender) {
+        return new FootballerQuery(genderMask & (1 << gender.ordinal()), minAge, maxAge, name, positions);
+    }
+
+    public FootballerQuery olderThan(int age) {
+        if (age == Integer.MAX_VALUE) {
+            return new FootballerQuery(0, 0, -1, null, positions);
+        }
+        return ageBetween(age + 1, Integer.MAX_VALUE);
+    }
+
+    public FootballerQuery youngerThan(int age) {
+        if (age == Integer.MIN_VALUE) {
+            return new FootballerQuery(0, 0, -1, null, positions);
+        }
+        return ageBetween(Integer.MIN_VALUE, age - 1);
+    }
+
+    /**
+     * Restricts ages to {@code [min, max]}, both inclusive.
+     */
+    public FootballerQuery ageBetween(int min, int max) {
+        return new FootballerQuery(genderMask, Math.max(minAge, min), Math.min(maxAge, max), name, positions);
+    }
+
+    public FootballerQuery named(String name) {
+        Objects.requireNonNull(name, "name");
+        if (this.name != null && !this.name.equals(name)) {
+            return new FootballerQuery(0, 0, -1, null, positions);
+        }
+        return new FootballerQuery(genderMask, minAge, maxAge, name, positions);
+    }
+
+    /**
+     * Keeps footballers playing the given position; several calls require all of them.
+     */
+    public FootballerQuery plays(String position) {
+        SortedSet<String> positions = new TreeSet<>(this.positions);
+        positions.add(Objects.requireNonNull(position, "position"));
+        return new FootballerQuery(genderMask, minAge, maxAge, name, Collections.unmodifiableSortedSet(positions));
+    }
+
+    /**
+     * True when the conditions contradict each other, so nothing can match.
+     */
+    public boolean isEmpty() {
+        return genderMask == 0;
+    }
+
+    public boolean test(Footballer footballer) {
+        int age = footballer.getAge();
+        return (genderMask & (1 << footballer.getGender().ordinal())) != 0
+                && age >= minAge && age <= maxAge
+                && (name == null || name.equals(footballer.getName()))
+                && footballer.getPositions().containsAll(positions);
+    }
+
+    public long count(Collection<? extends Footballer> footballers) {
+        long count = 0;
+        for (Footballer footballer : footballers) {
+            if (test(footballer)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<Footballer> list(Collection<? extends Footballer> footballers) {
+        List<Footballer> result = new ArrayList<>();
+        for (Footballer footballer : footballers) {
+            if (test(footballer)) {
+                result.add(footballer);
+            }
+        }
+        return result;
+    }
+
+    public int count(FootballerStore store) {
+        Plan plan = plan(store);
+        return plan.kernel.scan(store, plan, null);
+    }
+
+    /**
+     * Returns the matching rows, in insertion order.
+     */
+    public int[] rows(FootballerStore store) {
+        Plan plan = plan(store);
+        RowBuffer rows = new RowBuffer();
+        plan.kernel.scan(store, plan, rows);
+        return rows.toArray();
+    }
+
+    public List<Footballer> list(FootballerStore store) {
+        int[] rows = rows(store);
+        List<Footballer> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(store.get(row));
+        }
+        return result;
+    }
+
+    /**
+     * Positions of every matching footballer, in row order, like {@code flatMap(f -> f.getPositions().stream())}.
+     */
+    public List<String> positions(FootballerStore store) {
+        List<String> result = new ArrayList<>();
+        for (int row : rows(store)) {
+            store.appendPositions(row, result);
+        }
+        return result;
+    }
+
+    /**
+     * Distinct positions of the matching footballers, in dictionary order.
+     */
+    public List<String> distinctPositions(FootballerStore store) {
+        long mask = 0L;
+        long[] masks = store.positionMaskColumn();
+        for (int row : rows(store)) {
+            mask |= masks[row];
+        }
+        return store.dictionary().positions(mask);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(genderMask);
+        out.writeInt(minAge);
+        out.writeInt(maxAge);
+        out.writeBoolean(name != null);
+        if (name != null) {
+            out.writeUTF(name);
+        }
+        out.writeInt(positions.size());
+        for (String position : positions) {
+            out.writeUTF(position);
+        }
+    }
+
+    static FootballerQuery readFrom(DataInput in) throws IOException {
+        int genderMask = in.readInt();
+        int minAge = in.readInt();
+        int maxAge = in.readInt();
+        String name = in.readBoolean() ? in.readUTF() : null;
+        SortedSet<String> positions = new TreeSet<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            positions.add(in.readUTF());
+        }
+        return new FootballerQuery(genderMask & ALL_GENDERS, minAge, maxAge, name, Collections.unmodifiableSortedSet(positions));
+    }
+
+    private Plan plan(FootballerStore store) {
+        long positionMask = positions.isEmpty() ? 0L : store.dictionary().mask(positions);
+        if (isEmpty() || positionMask == -1L) {
+            return new Plan(Kernel.NOTHING, 0, 0, -1, 0L, null);
+        }
+        Kernel kernel = name != null ? Kernel.ALL_COLUMNS
+                : positionMask != 0L ? Kernel.GENDER_AGE_POSITIONS
+                : Kernel.GENDER_AGE;
+        return new Plan(kernel, genderMask, minAge, maxAge, positionMask, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof FootballerQuery))
+            return false;
+        FootballerQuery other = (FootballerQuery) o;
+        return genderMask == other.genderMask && minAge == other.minAge && maxAge == other.maxAge
+                && Objects.equals(name, other.name) && positions.equals(other.positions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genderMask, minAge, maxAge, name, positions);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "FootballerQuery[nothing]";
+        }
+        StringBuilder description = new StringBuilder("FootballerQuery[");
+        if (genderMask != ALL_GENDERS) {
+            description.append("gender=").append(Arrays.stream(GENDERS).filter(g -> (genderMask & (1 << g.ordinal())) != 0)
+                    .map(Enum::name).reduce((a, b) -> a + "|" + b).orElse("")).append(' ');
+        }
+        if (minAge != Integer.MIN_VALUE || maxAge != Integer.MAX_VALUE) {
+            description.append("age=[").append(minAge).append(", ").append(maxAge).append("] ");
+        }
+        if (name != null) {
+            description.append("name=").append(name).append(' ');
+        }
+        if (!positions.isEmpty()) {
+            description.append("plays=").append(positions).append(' ');
+        }
+        return description.toString().trim() + "]";
+    }
+
+    private static final class Plan {
+
+        private final Kernel kernel;
+        private final int genderMask;
+        private final int minAge;
+        private final int maxAge;
+        private final long positionMask;
+        private final String name;
+
+        Plan(Kernel kernel, int genderMask, int minAge, int maxAge, long positionMask, String name) {
+            this.kernel = kernel;
+            this.genderMask = genderMask;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.positionMask = positionMask;
+            this.name = name;
+        }
+    }
+
+    private static final class RowBuffer {
+
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+
+    /**
+     * One fused loop per query shape: each kernel reads only the columns its conditions need.
+     */
+    private enum Kernel {
+
+        NOTHING {
+            @Override
+            int scan(FootballerStore store, Plan plan, RowBuffer out) {
+                return 0;
+            }
+        },
+
+        GENDER_AGE {
+            @Override
+            int scan(FootballerStore store, Plan plan, RowBuffer out) {
+                byte[] genders = store.genderColumn();
+                int[] ages = store.ageColumn();
+                int genderMask = plan.genderMask;
+                int minAge = plan.minAge;
+                int maxAge = plan.maxAge;
+                int count = 0;
+                for (int row = 0, size = store.size(); row < size; row++) {
+                    int age = ages[row];
+                    if (((genderMask >>> genders[row]) & 1) != 0 && age >= minAge && age <= maxAge) {
+                        count++;
+                        if (out != null) {
+                            out.add(row);
+                        }
+                    }
+                }
+                return count;
+            }
+        },
+
+        GENDER_AGE_POSITIONS {
+            @Override
+            int scan(FootballerStore store, Plan plan, RowBuffer out) {
+                byte[] genders = store.genderColumn();
+                int[] ages = store.ageColumn();
+                long[] masks = store.positionMaskColumn();
+                int genderMask = plan.genderMask;
+                int minAge = plan.minAge;
+                int maxAge = plan.maxAge;
+                long positionMask = plan.positionMask;
+                int count = 0;
+                for (int row = 0, size = store.size(); row < size; row++) {
+                    int age = ages[row];
+                    if (((genderMask >>> genders[row]) & 1) != 0 && age >= minAge && age <= maxAge
+                            && (masks[row] & positionMask) == positionMask) {
+                        count++;
+                        if (out != null) {
+                            out.add(row);
+                        }
+                    }
+                }
+                return count;
+            }
+        },
+
+        ALL_COLUMNS {
+            @Override
+            int scan(FootballerStore store, Plan plan, RowBuffer out) {
+                String[] names = store.nameColumn();
+                byte[] genders = store.genderColumn();
+                int[] ages = store.ageColumn();
+                long[] masks = store.positionMaskColumn();
+                int genderMask = plan.genderMask;
+                int minAge = plan.minAge;
+                int maxAge = plan.maxAge;
+                long positionMask = plan.positionMask;
+                String name = plan.name;
+                int count = 0;
+                for (int row = 0, size = store.size(); row < size; row++) {
+                    int age = ages[row];
+                    if (((genderMask >>> genders[row]) & 1) != 0 && age >= minAge && age <= maxAge
+                            && (masks[row] & positionMask) == positionMask && name.equals(names[row])) {
+                        count++;
+                        if (out != null) {
+                            out.add(row);
+                        }
+                    }
+                }
+                return count;
+            }
+        };
+
+        abstract int scan(FootballerStore store, Plan plan, RowBuffer out);
+    }
+}
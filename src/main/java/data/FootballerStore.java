@@ -0,0 +1,500 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Column oriented (struct of arrays) storage for footballers. Every attribute lives in its own primitive array, so
+ * queries over age and gender are plain loops over contiguous memory instead of pointer chasing through a
+ * {@code List<Footballer>}. Positions are dictionary coded: each player owns a slice of {@code positionCodes}
+ * delimited by {@code positionStart}, which keeps their original order, plus a bitmask of the same codes in
+ * {@code positionMasks} for set queries such as distinct positions or "plays CAM".
+ * <p>
+ * The store is not safe for concurrent mutation; bulk operations such as {@link #ageAll()} parallelize internally.
+ */
+public class FootballerStore {
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final PositionDictionary dictionary = new PositionDictionary();
+
+    private String[] names;
+    private int[] ages;
+    private byte[] genders;
+    private int[] positionStart;
+    private byte[] positionCodes;
+    private long[] positionMasks;
+    private int size;
+    private long version;
+
+    public FootballerStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FootballerStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.names = new String[capacity];
+        this.ages = new int[capacity];
+        this.genders = new byte[capacity];
+        this.positionStart = new int[capacity + 1];
+        this.positionCodes = new byte[capacity * 2];
+        this.positionMasks = new long[capacity];
+    }
+
+    public static FootballerStore of(Collection<Footballer> footballers) {
+        FootballerStore store = new FootballerStore(footballers.size());
+        footballers.forEach(store::add);
+        return store;
+    }
+
+    public int add(Footballer footballer) {
+        return add(footballer.getName(), footballer.getAge(), footballer.getGender(), footballer.getPositions());
+    }
+
+    public int add(String name, int age, Gender gender, List<String> positions) {
+        ensureCapacity(size + 1);
+        int start = positionStart[size];
+        ensurePositionCapacity(start + positions.size());
+        long mask = 0L;
+        for (String position : positions) {
+            int code = dictionary.code(position);
+            positionCodes[start++] = (byte) code;
+            mask |= dictionary.bit(code);
+        }
+        return append(name, age, gender, start, mask);
+    }
+
+    /**
+     * Adds a player whose positions are already coded against {@link #dictionary()}.
+     */
+    int add(String name, int age, Gender gender, int[] codes, int codeCount) {
+        ensureCapacity(size + 1);
+        int start = positionStart[size];
+        ensurePositionCapacity(start + codeCount);
+        long mask = 0L;
+        for (int i = 0; i < codeCount; i++) {
+            positionCodes[start++] = (byte) codes[i];
+            mask |= dictionary.bit(codes[i]);
+        }
+        return append(name, age, gender, start, mask);
+    }
+
+    /**
+     * Appends every row of {@code other}, translating its position codes into this store's dictionary.
+     */
+    public void addAll(FootballerStore other) {
+        int[] remap = new int[other.dictionary.size()];
+        for (int code = 0; code < remap.length; code++) {
+            remap[code] = dictionary.code(other.dictionary.position(code));
+        }
+        int rows = other.size;
+        ensureCapacity(size + rows);
+        ensurePositionCapacity(positionStart[size] + other.positionStart[rows]);
+        for (int row = 0; row < rows; row++) {
+            int start = positionStart[size];
+            long mask = 0L;
+            for (int i = other.positionStart[row]; i < other.positionStart[row + 1]; i++) {
+                int code = remap[other.positionCodes[i]];
+                positionCodes[start++] = (byte) code;
+                mask |= dictionary.bit(code);
+            }
+            append(other.names[row], other.ages[row], GENDERS[other.genders[row]], start, mask);
+        }
+    }
+
+    private int append(String name, int age, Gender gender, int positionEnd, long mask) {
+        names[size] = name;
+        ages[size] = age;
+        genders[size] = (byte) gender.ordinal();
+        positionStart[size + 1] = positionEnd;
+        positionMasks[size] = mask;
+        version++;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Incremented on every change to the stored rows, so derived structures can tell when they are out of date.
+     */
+    public long version() {
+        return version;
+    }
+
+    public PositionDictionary dictionary() {
+        return dictionary;
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public Gender getGender(int row) {
+        checkRow(row);
+        return GENDERS[genders[row]];
+    }
+
+    public List<String> getPositions(int row) {
+        checkRow(row);
+        int from = positionStart[row];
+        int to = positionStart[row + 1];
+        List<String> positions = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            positions.add(dictionary.position(positionCodes[i]));
+        }
+        return Collections.unmodifiableList(positions);
+    }
+
+    public long getPositionMask(int row) {
+        checkRow(row);
+        return positionMasks[row];
+    }
+
+    /**
+     * Materializes the given row as a standalone {@link Footballer}.
+     */
+    public Footballer get(int row) {
+        return new Footballer(getName(row), getAge(row), getGender(row), getPositions(row));
+    }
+
+    /**
+     * Visits every row through a single reused {@link View}, so iterating the store allocates nothing per player.
+     * The view must not be retained after the callback returns.
+     */
+    public void forEach(Consumer<? super View> action) {
+        View view = new View();
+        for (int row = 0; row < size; row++) {
+            view.row = row;
+            action.accept(view);
+        }
+    }
+
+    public int count(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (genders[i] == ordinal) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts players of the given gender whose age lies in {@code [minAge, maxAge]}.
+     */
+    public int count(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int age = ages[i];
+            if (genders[i] == ordinal && age >= minAge && age <= maxAge) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows of players of the given gender whose age lies in {@code [minAge, maxAge]}, in insertion order.
+     */
+    public int[] filter(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int[] rows = new int[Math.min(size, 16)];
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            int age = ages[i];
+            if (genders[i] == ordinal && age >= minAge && age <= maxAge) {
+                if (found == rows.length) {
+                    rows = Arrays.copyOf(rows, found * 2);
+                }
+                rows[found++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    /**
+     * Returns the union of the position masks of players of the given gender whose age lies in
+     * {@code [minAge, maxAge]}. Decode it with {@link PositionDictionary#positions(long)}.
+     */
+    public long positionMask(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        long mask = 0L;
+        for (int i = 0; i < size; i++) {
+            int age = ages[i];
+            if (genders[i] == ordinal && age >= minAge && age <= maxAge) {
+                mask |= positionMasks[i];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Distinct positions of players of the given gender whose age lies in {@code [minAge, maxAge]}, in dictionary
+     * (first interned) order.
+     */
+    public List<String> distinctPositions(Gender gender, int minAge, int maxAge) {
+        return dictionary.positions(positionMask(gender, minAge, maxAge));
+    }
+
+    public boolean plays(int row, String position) {
+        checkRow(row);
+        int code = dictionary.find(position);
+        return code >= 0 && (positionMasks[row] & dictionary.bit(code)) != 0L;
+    }
+
+    /**
+     * Counts players that play every position in {@code positions}.
+     */
+    public int countPlaying(Collection<String> positions) {
+        long required = dictionary.mask(positions);
+        if (required == -1L) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((positionMasks[i] & required) == required) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ages every player by one year, splitting the rows across cores.
+     */
+    public void ageAll() {
+        int[] ages = this.ages;
+        IntStream.range(0, size).parallel().forEach(row -> ages[row]++);
+        version++;
+    }
+
+    /**
+     * Ages by one year the players of the given gender whose age lies in {@code [minAge, maxAge]}, splitting the rows
+     * across cores.
+     *
+     * @return the number of players aged
+     */
+    public int ageWhere(Gender gender, int minAge, int maxAge) {
+        int[] ages = this.ages;
+        byte[] genders = this.genders;
+        byte ordinal = (byte) gender.ordinal();
+        int aged = IntStream.range(0, size).parallel()
+                .filter(row -> genders[row] == ordinal && ages[row] >= minAge && ages[row] <= maxAge)
+                .map(row -> {
+                    ages[row]++;
+                    return 1;
+                })
+                .sum();
+        version++;
+        return aged;
+    }
+
+    /**
+     * The age column as a primitive stream; nothing is boxed.
+     */
+    public IntStream ages() {
+        return Arrays.stream(ages, 0, size);
+    }
+
+    public IntStream ages(Gender gender) {
+        int[] ages = this.ages;
+        byte[] genders = this.genders;
+        byte ordinal = (byte) gender.ordinal();
+        return IntStream.range(0, size).filter(row -> genders[row] == ordinal).map(row -> ages[row]);
+    }
+
+    /**
+     * Counts players of the given gender whose age matches the predicate.
+     */
+    public int count(Gender gender, IntPredicate agePredicate) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (genders[i] == ordinal && agePredicate.test(ages[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean anyAgeMatch(IntPredicate agePredicate) {
+        for (int i = 0; i < size; i++) {
+            if (agePredicate.test(ages[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean allAgesMatch(IntPredicate agePredicate) {
+        return !anyAgeMatch(agePredicate.negate());
+    }
+
+    public OptionalInt minAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int min = ages[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, ages[i]);
+        }
+        return OptionalInt.of(min);
+    }
+
+    public OptionalInt minAge(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        int min = Integer.MAX_VALUE;
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            if (genders[i] == ordinal) {
+                min = Math.min(min, ages[i]);
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(min) : OptionalInt.empty();
+    }
+
+    public OptionalInt maxAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int max = ages[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, ages[i]);
+        }
+        return OptionalInt.of(max);
+    }
+
+    public OptionalInt maxAge(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        int max = Integer.MIN_VALUE;
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            if (genders[i] == ordinal) {
+                max = Math.max(max, ages[i]);
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(max) : OptionalInt.empty();
+    }
+
+    public OptionalDouble averageAge() {
+        if (size == 0) {
+            return OptionalDouble.empty();
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ages[i];
+        }
+        return OptionalDouble.of((double) sum / size);
+    }
+
+    public OptionalDouble averageAge(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (genders[i] == ordinal) {
+                sum += ages[i];
+                count++;
+            }
+        }
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / count);
+    }
+
+    String[] nameColumn() {
+        return names;
+    }
+
+    int[] ageColumn() {
+        return ages;
+    }
+
+    byte[] genderColumn() {
+        return genders;
+    }
+
+    long[] positionMaskColumn() {
+        return positionMasks;
+    }
+
+    /**
+     * Appends the row's positions, in their original order, without copying them into a new list.
+     */
+    void appendPositions(int row, List<String> out) {
+        for (int i = positionStart[row], to = positionStart[row + 1]; i < to; i++) {
+            out.add(dictionary.position(positionCodes[i]));
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ages.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ages.length * 2);
+        names = Arrays.copyOf(names, newCapacity);
+        ages = Arrays.copyOf(ages, newCapacity);
+        genders = Arrays.copyOf(genders, newCapacity);
+        positionStart = Arrays.copyOf(positionStart, newCapacity + 1);
+        positionMasks = Arrays.copyOf(positionMasks, newCapacity);
+    }
+
+    private void ensurePositionCapacity(int capacity) {
+        if (capacity > positionCodes.length) {
+            positionCodes = Arrays.copyOf(positionCodes, Math.max(capacity, positionCodes.length * 2));
+        }
+    }
+
+    /**
+     * Flyweight over a single row of the store.
+     */
+    public final class View {
+
+        private int row;
+
+        public int row() {
+            return row;
+        }
+
+        public String getName() {
+            return names[row];
+        }
+
+        public int getAge() {
+            return ages[row];
+        }
+
+        public Gender getGender() {
+            return GENDERS[genders[row]];
+        }
+
+        public List<String> getPositions() {
+            return FootballerStore.this.getPositions(row);
+        }
+    }
+}
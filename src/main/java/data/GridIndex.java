@@ -0,0 +1,220 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid of square cells over a fixed rectangle, best suited to evenly spread points. Each cell keeps its
+ * points in a plain array; points outside the rectangle are filed in the nearest border cell, so every query stays
+ * correct and only gets slower for them.
+ */
+public class GridIndex<P extends Point> implements SpatialIndex<P> {
+
+    private final int minX;
+    private final int minY;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final Object[][] cells;
+    private final int[] counts;
+    private int size;
+
+    public GridIndex(int minX, int minY, int maxX, int maxY, int cellSize) {
+        if (cellSize <= 0 || maxX < minX || maxY < minY) {
+            throw new IllegalArgumentException("Invalid grid: [" + minX + ", " + minY + "] - [" + maxX + ", " + maxY
+                    + "] with cell size " + cellSize);
+        }
+        long columns = ((long) maxX - minX) / cellSize + 1;
+        long rows = ((long) maxY - minY) / cellSize + 1;
+        if (columns * rows > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many cells: " + columns + " x " + rows);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.columns = (int) columns;
+        this.rows = (int) rows;
+        this.cells = new Object[this.columns * this.rows][];
+        this.counts = new int[cells.length];
+    }
+
+    /**
+     * Builds a grid over the bounding box of the points, sized for about {@code pointsPerCell} points per cell, and
+     * fills every cell with an exactly sized array.
+     */
+    public static <P extends Point> GridIndex<P> bulkLoad(Collection<? extends P> points, int pointsPerCell) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (P point : points) {
+            minX = Math.min(minX, point.getX());
+            minY = Math.min(minY, point.getY());
+            maxX = Math.max(maxX, point.getX());
+            maxY = Math.max(maxY, point.getY());
+        }
+        if (points.isEmpty()) {
+            minX = minY = maxX = maxY = 0;
+        }
+        double area = ((double) maxX - minX + 1) * ((double) maxY - minY + 1);
+        int cellSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(Math.sqrt(area * pointsPerCell / Math.max(1, points.size())))));
+        GridIndex<P> grid = new GridIndex<>(minX, minY, maxX, maxY, cellSize);
+        for (P point : points) {
+            grid.counts[grid.cell(point.getX(), point.getY())]++;
+        }
+        for (int cell = 0; cell < grid.cells.length; cell++) {
+            if (grid.counts[cell] > 0) {
+                grid.cells[cell] = new Object[grid.counts[cell]];
+                grid.counts[cell] = 0;
+            }
+        }
+        for (P point : points) {
+            int cell = grid.cell(point.getX(), point.getY());
+            grid.cells[cell][grid.counts[cell]++] = point;
+        }
+        grid.size = points.size();
+        return grid;
+    }
+
+    @Override
+    public void insert(P point) {
+        int cell = cell(point.getX(), point.getY());
+        Object[] items = cells[cell];
+        if (items == null) {
+            items = cells[cell] = new Object[4];
+        } else if (counts[cell] == items.length) {
+            items = cells[cell] = Arrays.copyOf(items, items.length * 2);
+        }
+        items[counts[cell]++] = point;
+        size++;
+    }
+
+    @Override
+    public boolean remove(P point) {
+        int cell = cell(point.getX(), point.getY());
+        Object[] items = cells[cell];
+        for (int i = 0; i < counts[cell]; i++) {
+            if (items[i].equals(point)) {
+                items[i] = items[--counts[cell]];
+                items[counts[cell]] = null;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<P> range(int minX, int minY, int maxX, int maxY, Predicate<? super P> filter) {
+        List<P> result = new ArrayList<>();
+        if (maxX < minX || maxY < minY) {
+            return result;
+        }
+        int fromColumn = column(minX), toColumn = column(maxX);
+        int fromRow = row(minY), toRow = row(maxY);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = row * columns + column;
+                Object[] items = cells[cell];
+                for (int i = 0; i < counts[cell]; i++) {
+                    P point = (P) items[i];
+                    int x = point.getX();
+                    int y = point.getY();
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && filter.test(point)) {
+                        result.add(point);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Visits the cells in square rings of growing radius around the query cell, stopping once the ring can no
+     * longer hold anything closer than the current k-th neighbour.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<P> nearest(int x, int y, int k, Predicate<? super P> filter) {
+        NearestNeighbours<P> nearest = new NearestNeighbours<>(x, y, k);
+        if (k == 0) {
+            return nearest.toList();
+        }
+        int centerColumn = column(x);
+        int centerRow = row(y);
+        int maxRadius = Math.max(Math.max(centerColumn, columns - 1 - centerColumn), Math.max(centerRow, rows - 1 - centerRow));
+        for (int radius = 0; radius <= maxRadius; radius++) {
+            for (int row = centerRow - radius; row <= centerRow + radius; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean edgeRow = row == centerRow - radius || row == centerRow + radius;
+                int step = edgeRow ? 1 : 2 * radius;
+                for (int column = centerColumn - radius; column <= centerColumn + radius; column += Math.max(step, 1)) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    int cell = row * columns + column;
+                    Object[] items = cells[cell];
+                    for (int i = 0; i < counts[cell]; i++) {
+                        P point = (P) items[i];
+                        if (filter.test(point)) {
+                            nearest.offer(point);
+                        }
+                    }
+                }
+            }
+            if (nearest.isClosed(squared(distanceOutside(x, y, centerColumn, centerRow, radius)))) {
+                break;
+            }
+        }
+        return nearest.toList();
+    }
+
+    /**
+     * Lower bound of the distance from (x, y) to any point filed outside the rings visited so far.
+     */
+    private long distanceOutside(int x, int y, int centerColumn, int centerRow, int radius) {
+        long left = (long) x - ((long) minX + (long) (centerColumn - radius) * cellSize);
+        long right = (long) minX + (long) (centerColumn + radius + 1) * cellSize - x;
+        long bottom = (long) y - ((long) minY + (long) (centerRow - radius) * cellSize);
+        long top = (long) minY + (long) (centerRow + radius + 1) * cellSize - y;
+        long distance = Long.MAX_VALUE;
+        // border cells also hold the points beyond the grid, so an outer side touching the border bounds nothing
+        if (centerColumn - radius > 0) {
+            distance = Math.min(distance, left);
+        }
+        if (centerColumn + radius < columns - 1) {
+            distance = Math.min(distance, right);
+        }
+        if (centerRow - radius > 0) {
+            distance = Math.min(distance, bottom);
+        }
+        if (centerRow + radius < rows - 1) {
+            distance = Math.min(distance, top);
+        }
+        return Math.max(0, distance);
+    }
+
+    private static long squared(long distance) {
+        return distance >= 3_037_000_499L ? Long.MAX_VALUE : distance * distance;
+    }
+
+    private int cell(int x, int y) {
+        return row(y) * columns + column(x);
+    }
+
+    private int column(int x) {
+        return (int) Math.max(0, Math.min(columns - 1, Math.floorDiv((long) x - minX, cellSize)));
+    }
+
+    private int row(int y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floorDiv((long) y - minY, cellSize)));
+    }
+}
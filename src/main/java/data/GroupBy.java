@@ -0,0 +1,99 @@
+package data;
+
+import java.util.stream.IntStream;
+
+/**
+ * Groups a {@link FootballerStore} by any combination of gender, position and age band and aggregates count and
+ * sum, min and max of age per group, e.g.
+ * <pre>
+ * AgeGroups groups = GroupBy.by().position().gender().ageBand(5).aggregate(store);
+ * </pre>
+ * Group keys are the store's dictionary codes and gender ordinals, so every group is a slot in a dense array rather
+ * than a hash map entry. Large stores are split into chunks that run in parallel, each into its own primitive
+ * accumulators, which are summed at the end: there is no contention while scanning and nothing is boxed.
+ * <p>
+ * Grouping by position counts a player once under each distinct position they play, like
+ * {@code flatMap(positions).groupingBy(...)}. Ages are clamped to {@code [0, 127]} when banded.
+ */
+public final class GroupBy {
+
+    static final int MAX_AGE = 127;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final GroupBy NONE = new GroupBy(false, false, 0);
+
+    private final boolean gender;
+    private final boolean position;
+    private final int bandWidth;
+
+    private GroupBy(boolean gender, boolean position, int bandWidth) {
+        this.gender = gender;
+        this.position = position;
+        this.bandWidth = bandWidth;
+    }
+
+    /**
+     * A single group holding every player; add keys with {@link #gender()}, {@link #position()} and
+     * {@link #ageBand(int)}.
+     */
+    public static GroupBy by() {
+        return NONE;
+    }
+
+    public GroupBy gender() {
+        return new GroupBy(true, position, bandWidth);
+    }
+
+    public GroupBy position() {
+        return new GroupBy(gender, true, bandWidth);
+    }
+
+    /**
+     * Groups ages into bands of the given width: {@code [0, width)}, {@code [width, 2 * width)}, ...
+     */
+    public GroupBy ageBand(int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Band width must be positive: " + width);
+        }
+        return new GroupBy(gender, position, width);
+    }
+
+    public AgeGroups aggregate(FootballerStore store) {
+        AgeGroups.Shape shape = new AgeGroups.Shape(gender, position ? store.dictionary() : null, bandWidth);
+        int size = store.size();
+        if (size <= CHUNK_SIZE) {
+            return accumulate(store, shape, 0, size);
+        }
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> accumulate(store, shape, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+                .reduce(AgeGroups::merge)
+                .orElseGet(() -> new AgeGroups(shape));
+    }
+
+    private static AgeGroups accumulate(FootballerStore store, AgeGroups.Shape shape, int from, int to) {
+        AgeGroups groups = new AgeGroups(shape);
+        byte[] genders = store.genderColumn();
+        int[] ages = store.ageColumn();
+        long[] masks = store.positionMaskColumn();
+        int genderStride = shape.genderStride();
+        int positionStride = shape.positionStride();
+        int bandWidth = shape.bandWidth();
+        for (int row = from; row < to; row++) {
+            int age = ages[row];
+            int group = shape.gender() ? genders[row] * genderStride : 0;
+            if (bandWidth > 0) {
+                group += Math.min(Math.max(age, 0), MAX_AGE) / bandWidth;
+            }
+            if (shape.position()) {
+                for (long mask = masks[row]; mask != 0L; mask &= mask - 1) {
+                    groups.add(group + Long.numberOfTrailingZeros(mask) * positionStride, age);
+                }
+            } else {
+                groups.add(group, age);
+            }
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,228 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Most frequent values of a stream in fixed memory, using the Space-Saving algorithm: {@code capacity} counters, kept
+ * in a min-heap by count, where a new value takes over the smallest counter. Every value seen more than
+ * {@code total / capacity} times is guaranteed to be tracked, and a tracked count overestimates the true one by at most
+ * its {@link Item#error()}.
+ * <p>
+ * Summaries merge by adding counts; a value missing from a full summary is charged that summary's smallest count, so
+ * the merged counts stay upper bounds.
+ */
+public class HeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final String[] values;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+    private long total;
+
+    public HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.values = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    /**
+     * A summary whose counts overestimate by at most {@code epsilon * total}.
+     */
+    public static HeavyHitters withError(double epsilon) {
+        return new HeavyHitters(capacityFor(epsilon));
+    }
+
+    public static Collector<String, ?, HeavyHitters> collector(double epsilon) {
+        return collector(epsilon, Function.identity());
+    }
+
+    public static <T> Collector<T, ?, HeavyHitters> collector(double epsilon, Function<? super T, String> key) {
+        int capacity = capacityFor(epsilon);
+        return Collector.of(() -> new HeavyHitters(capacity), (summary, t) -> summary.add(key.apply(t)),
+                HeavyHitters::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    public void add(String value, long count) {
+        Objects.requireNonNull(value, "value");
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        total += count;
+        Integer slot = slots.get(value);
+        if (slot != null) {
+            counts[slot] += count;
+            siftDown(slot);
+        } else if (size < capacity) {
+            values[size] = value;
+            counts[size] = count;
+            errors[size] = 0;
+            slots.put(value, size);
+            siftUp(size++);
+        } else {
+            slots.remove(values[0]);
+            values[0] = value;
+            errors[0] = counts[0];
+            counts[0] += count;
+            slots.put(value, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Upper bound of the value's count: its counter if tracked, otherwise the smallest count of a full summary.
+     */
+    public long estimate(String value) {
+        Integer slot = slots.get(value);
+        if (slot != null) {
+            return counts[slot];
+        }
+        return size < capacity ? 0 : counts[0];
+    }
+
+    /**
+     * The {@code n} values with the highest counts, highest first.
+     */
+    public List<Item> top(int n) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(values[i], counts[i], errors[i]));
+        }
+        items.sort(Comparator.comparingLong(Item::count).reversed().thenComparing(Item::value));
+        return items.subList(0, Math.min(n, items.size()));
+    }
+
+    public HeavyHitters merge(HeavyHitters other) {
+        Map<String, long[]> merged = new HashMap<>();
+        long thisMissing = size < capacity ? 0 : counts[0];
+        long otherMissing = other.size < other.capacity ? 0 : other.counts[0];
+        for (int i = 0; i < size; i++) {
+            merged.put(values[i], new long[]{counts[i] + otherMissing, errors[i] + otherMissing});
+        }
+        for (int i = 0; i < other.size; i++) {
+            long[] entry = merged.get(other.values[i]);
+            if (entry == null) {
+                merged.put(other.values[i], new long[]{other.counts[i] + thisMissing, other.errors[i] + thisMissing});
+            } else {
+                entry[0] += other.counts[i] - otherMissing;
+                entry[1] += other.errors[i] - otherMissing;
+            }
+        }
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        long mergedTotal = total + other.total;
+        slots.clear();
+        size = 0;
+        for (Map.Entry<String, long[]> entry : entries.subList(0, Math.min(capacity, entries.size()))) {
+            values[size] = entry.getKey();
+            counts[size] = entry.getValue()[0];
+            errors[size] = entry.getValue()[1];
+            slots.put(entry.getKey(), size);
+            siftUp(size++);
+        }
+        total = mergedTotal;
+        return this;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[parent] <= counts[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        for (int child = 2 * index + 1; child < size; child = 2 * index + 1) {
+            if (child + 1 < size && counts[child + 1] < counts[child]) {
+                child++;
+            }
+            if (counts[index] <= counts[child]) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        slots.put(values[a], a);
+        slots.put(values[b], b);
+    }
+
+    private static int capacityFor(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be in (0, 1): " + epsilon);
+        }
+        return (int) Math.ceil(1 / epsilon);
+    }
+
+    /**
+     * A tracked value with its estimated count; the true count lies in {@code [count - error, count]}.
+     */
+    public static final class Item {
+
+        private final String value;
+        private final long count;
+        private final long error;
+
+        Item(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long error() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return value + "=" + count + " (error " + error + ")";
+        }
+    }
+}
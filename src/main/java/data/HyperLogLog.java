@@ -0,0 +1,127 @@
+package data;
+
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Approximate count of distinct values in fixed memory: {@code 2^precision} one byte registers, with a relative
+ * standard error of about {@code 1.04 / sqrt(2^precision)}. Sketches of the same precision merge losslessly, so
+ * they can be filled per thread or per shard and combined, e.g.
+ * <pre>
+ * long positions = footballers.stream()
+ *         .flatMap(f -> f.getPositions().stream())
+ *         .collect(HyperLogLog.collector(0.01))
+ *         .estimate();
+ * </pre>
+ * Small cardinalities fall back to linear counting, which is close to exact.
+ */
+public class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * The smallest sketch whose relative standard error is at most {@code relativeError}.
+     */
+    public static HyperLogLog withError(double relativeError) {
+        return new HyperLogLog(precisionFor(relativeError));
+    }
+
+    public static Collector<String, ?, HyperLogLog> collector(double relativeError) {
+        return collector(relativeError, Function.identity());
+    }
+
+    public static <T> Collector<T, ?, HyperLogLog> collector(double relativeError, Function<? super T, ? extends CharSequence> key) {
+        int precision = precisionFor(relativeError);
+        return Collector.of(() -> new HyperLogLog(precision), (sketch, t) -> sketch.add(key.apply(t)), HyperLogLog::merge,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Expected relative standard error of {@link #estimate()}.
+     */
+    public double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public void add(CharSequence value) {
+        addHash(SketchHash.hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Folds the other sketch into this one; both must have the same precision.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precision mismatch: " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    private static int precisionFor(double relativeError) {
+        if (!(relativeError > 0 && relativeError < 1)) {
+            throw new IllegalArgumentException("Relative error must be in (0, 1): " + relativeError);
+        }
+        double registers = Math.pow(1.04 / relativeError, 2);
+        int precision = (int) Math.ceil(Math.log(registers) / Math.log(2));
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package data;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Stream} that records, for every intermediate operation, how many elements went in and out and how long
+ * its functions took, plus wall time and allocations of the terminal operation, in a {@link MetricsRegistry}:
+ * <pre>
+ * Instrumented.of(footballerList.stream(), "femalesByName")
+ *         .filter(f -> f.getGender() == Gender.FEMALE)
+ *         .sorted(Comparator.comparing(Footballer::getName))
+ *         .collect(Collectors.toList());
+ * </pre>
+ * When the registry is disabled, {@code of} returns the given stream itself, so the only cost left is one volatile
+ * read. A pipeline name should identify one pipeline shape, since stages are matched up by position. Operations
+ * that leave the object stream ({@code mapToInt}, {@code flatMapToInt}, ...) are counted, but what
+ * follows them is not instrumented.
+ */
+public final class Instrumented<T> implements Stream<T> {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Stream<T> delegate;
+    private final MetricsRegistry.Pipeline pipeline;
+    private final int stage;
+
+    private Instrumented(Stream<T> delegate, MetricsRegistry.Pipeline pipeline, int stage) {
+        this.delegate = delegate;
+        this.pipeline = pipeline;
+        this.stage = stage;
+    }
+
+    /**
+     * Instruments the stream in the {@link MetricsRegistry#global() global} registry, named after the calling
+     * method.
+     */
+    public static <T> Stream<T> of(Stream<T> stream) {
+        if (!MetricsRegistry.global().isEnabled()) {
+            return stream;
+        }
+        return of(stream, callerName(), MetricsRegistry.global());
+    }
+
+    public static <T> Stream<T> of(Stream<T> stream, String name) {
+        return of(stream, name, MetricsRegistry.global());
+    }
+
+    public static <T> Stream<T> of(Stream<T> stream, String name, MetricsRegistry registry) {
+        if (!registry.isEnabled()) {
+            return stream;
+        }
+        return new Instrumented<>(stream, registry.pipeline(name), 0);
+    }
+
+    private static String callerName() {
+        return StackWalker.getInstance()
+                .walk(frames -> frames.skip(2).findFirst())
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("pipeline");
+    }
+
+    private <R> Stream<R> next(Stream<R> stream) {
+        return new Instrumented<>(stream, pipeline, stage + 1);
+    }
+
+    private MetricsRegistry.Stage stage(String op) {
+        return pipeline.stage(stage, op);
+    }
+
+    /**
+     * Counts elements passing through an operation that takes no function.
+     */
+    private <R> Stream<R> counted(String op, Function<Stream<T>, Stream<R>> operation) {
+        MetricsRegistry.Stage stage = stage(op);
+        return next(operation.apply(delegate.peek(t -> stage.countIn())).peek(r -> stage.countOut()));
+    }
+
+    private <R> R terminal(String op, Supplier<R> operation) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        R result = operation.get();
+        long nanos = System.nanoTime() - start;
+        pipeline.completed(op, nanos, allocated < 0 ? 0 : Math.max(0, allocatedBytes() - allocated));
+        return result;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @Override
+    public Stream<T> filter(Predicate<? super T> predicate) {
+        MetricsRegistry.Stage stage = stage("filter");
+        return next(delegate.filter(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            boolean matches = predicate.test(t);
+            stage.addNanos(System.nanoTime() - start);
+            if (matches) {
+                stage.countOut();
+            }
+            return matches;
+        }));
+    }
+
+    @Override
+    public <R> Stream<R> map(Function<? super T, ? extends R> mapper) {
+        MetricsRegistry.Stage stage = stage("map");
+        return next(delegate.map(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            R result = mapper.apply(t);
+            stage.addNanos(System.nanoTime() - start);
+            stage.countOut();
+            return result;
+        }));
+    }
+
+    @Override
+    public IntStream mapToInt(ToIntFunction<? super T> mapper) {
+        MetricsRegistry.Stage stage = stage("mapToInt");
+        return delegate.mapToInt(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            int result = mapper.applyAsInt(t);
+            stage.addNanos(System.nanoTime() - start);
+            stage.countOut();
+            return result;
+        });
+    }
+
+    @Override
+    public LongStream mapToLong(ToLongFunction<? super T> mapper) {
+        MetricsRegistry.Stage stage = stage("mapToLong");
+        return delegate.mapToLong(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            long result = mapper.applyAsLong(t);
+            stage.addNanos(System.nanoTime() - start);
+            stage.countOut();
+            return result;
+        });
+    }
+
+    @Override
+    public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        MetricsRegistry.Stage stage = stage("mapToDouble");
+        return delegate.mapToDouble(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            double result = mapper.applyAsDouble(t);
+            stage.addNanos(System.nanoTime() - start);
+            stage.countOut();
+            return result;
+        });
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
+        MetricsRegistry.Stage stage = stage("flatMap");
+        return next(delegate.flatMap(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            Stream<? extends R> result = mapper.apply(t);
+            stage.addNanos(System.nanoTime() - start);
+            return result == null ? null : result.peek(r -> stage.countOut());
+        }));
+    }
+
+    @Override
+    public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+        MetricsRegistry.Stage stage = stage("flatMapToInt");
+        return delegate.flatMapToInt(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            IntStream result = mapper.apply(t);
+            stage.addNanos(System.nanoTime() - start);
+            return result == null ? null : result.peek(r -> stage.countOut());
+        });
+    }
+
+    @Override
+    public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+        MetricsRegistry.Stage stage = stage("flatMapToLong");
+        return delegate.flatMapToLong(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            LongStream result = mapper.apply(t);
+            stage.addNanos(System.nanoTime() - start);
+            return result == null ? null : result.peek(r -> stage.countOut());
+        });
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+        MetricsRegistry.Stage stage = stage("flatMapToDouble");
+        return delegate.flatMapToDouble(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            DoubleStream result = mapper.apply(t);
+            stage.addNanos(System.nanoTime() - start);
+            return result == null ? null : result.peek(r -> stage.countOut());
+        });
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        return counted("distinct", Stream::distinct);
+    }
+
+    /**
+     * Natural-order sort; the time of the comparisons is not recorded, only the counts.
+     */
+    @Override
+    public Stream<T> sorted() {
+        return counted("sorted", Stream::sorted);
+    }
+
+    @Override
+    public Stream<T> sorted(Comparator<? super T> comparator) {
+        MetricsRegistry.Stage stage = stage("sorted");
+        Comparator<T> timed = (a, b) -> {
+            long start = System.nanoTime();
+            int result = comparator.compare(a, b);
+            stage.addNanos(System.nanoTime() - start);
+            return result;
+        };
+        return next(delegate.peek(t -> stage.countIn()).sorted(timed).peek(t -> stage.countOut()));
+    }
+
+    @Override
+    public Stream<T> peek(Consumer<? super T> action) {
+        MetricsRegistry.Stage stage = stage("peek");
+        return next(delegate.peek(t -> {
+            stage.countIn();
+            long start = System.nanoTime();
+            action.accept(t);
+            stage.addNanos(System.nanoTime() - start);
+            stage.countOut();
+        }));
+    }
+
+    @Override
+    public Stream<T> limit(long maxSize) {
+        return counted("limit", stream -> stream.limit(maxSize));
+    }
+
+    @Override
+    public Stream<T> skip(long n) {
+        return counted("skip", stream -> stream.skip(n));
+    }
+
+    @Override
+    public Stream<T> takeWhile(Predicate<? super T> predicate) {
+        return counted("takeWhile", stream -> stream.takeWhile(predicate));
+    }
+
+    @Override
+    public Stream<T> dropWhile(Predicate<? super T> predicate) {
+        return counted("dropWhile", stream -> stream.dropWhile(predicate));
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        terminal("forEach", () -> {
+            delegate.forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<? super T> action) {
+        terminal("forEachOrdered", () -> {
+            delegate.forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public Object[] toArray() {
+        return terminal("toArray", delegate::toArray);
+    }
+
+    @Override
+    public <A> A[] toArray(IntFunction<A[]> generator) {
+        return terminal("toArray", () -> delegate.toArray(generator));
+    }
+
+    @Override
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        return terminal("reduce", () -> delegate.reduce(identity, accumulator));
+    }
+
+    @Override
+    public Optional<T> reduce(BinaryOperator<T> accumulator) {
+        return terminal("reduce", () -> delegate.reduce(accumulator));
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+        return terminal("reduce", () -> delegate.reduce(identity, accumulator, combiner));
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
+        return terminal("collect", () -> delegate.collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public <R, A> R collect(Collector<? super T, A, R> collector) {
+        return terminal("collect", () -> delegate.collect(collector));
+    }
+
+    @Override
+    public Optional<T> min(Comparator<? super T> comparator) {
+        return terminal("min", () -> delegate.min(comparator));
+    }
+
+    @Override
+    public Optional<T> max(Comparator<? super T> comparator) {
+        return terminal("max", () -> delegate.max(comparator));
+    }
+
+    /**
+     * Unlike a plain {@code count()}, always walks the elements: a sized stream would otherwise skip its stages and
+     * leave them uncounted.
+     */
+    @Override
+    public long count() {
+        return terminal("count", () -> delegate.mapToLong(t -> 1L).sum());
+    }
+
+    @Override
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        return terminal("anyMatch", () -> delegate.anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(Predicate<? super T> predicate) {
+        return terminal("allMatch", () -> delegate.allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(Predicate<? super T> predicate) {
+        return terminal("noneMatch", () -> delegate.noneMatch(predicate));
+    }
+
+    @Override
+    public Optional<T> findFirst() {
+        return terminal("findFirst", delegate::findFirst);
+    }
+
+    @Override
+    public Optional<T> findAny() {
+        return terminal("findAny", delegate::findAny);
+    }
+
+    /**
+     * Hands out the underlying iterator; elements are still counted, but no terminal time is recorded.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return delegate.isParallel();
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return new Instrumented<>(delegate.sequential(), pipeline, stage);
+    }
+
+    @Override
+    public Stream<T> parallel() {
+        return new Instrumented<>(delegate.parallel(), pipeline, stage);
+    }
+
+    @Override
+    public Stream<T> unordered() {
+        return new Instrumented<>(delegate.unordered(), pipeline, stage);
+    }
+
+    @Override
+    public Stream<T> onClose(Runnable closeHandler) {
+        return new Instrumented<>(delegate.onClose(closeHandler), pipeline, stage);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
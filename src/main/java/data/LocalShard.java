@@ -0,0 +1,79 @@
+package data;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * An in-process shard over its own {@link FootballerStore}. Calls are serialized, since the store is not safe for
+ * concurrent mutation.
+ */
+public class LocalShard implements Shard {
+
+    private final FootballerStore store = new FootballerStore();
+
+    @Override
+    public synchronized void add(Footballer footballer) {
+        store.add(footballer);
+    }
+
+    @Override
+    public synchronized int size() {
+        return store.size();
+    }
+
+    @Override
+    public synchronized long count(FootballerQuery query) {
+        return query.count(store);
+    }
+
+    @Override
+    public synchronized long[] countAndAgeSum(FootballerQuery query) {
+        int[] rows = query.rows(store);
+        long sum = 0;
+        for (int row : rows) {
+            sum += store.getAge(row);
+        }
+        return new long[]{rows.length, sum};
+    }
+
+    @Override
+    public synchronized List<Footballer> list(FootballerQuery query) {
+        return query.list(store);
+    }
+
+    @Override
+    public synchronized int minAge(FootballerQuery query) {
+        int min = Integer.MAX_VALUE;
+        for (int row : query.rows(store)) {
+            min = Math.min(min, store.getAge(row));
+        }
+        return min;
+    }
+
+    @Override
+    public synchronized int maxAge(FootballerQuery query) {
+        int max = Integer.MIN_VALUE;
+        for (int row : query.rows(store)) {
+            max = Math.max(max, store.getAge(row));
+        }
+        return max;
+    }
+
+    @Override
+    public synchronized List<Footballer> first(FootballerQuery query, int limit, List<SortKey> order) {
+        return IntStream.of(query.rows(store))
+                .mapToObj(store::get)
+                .collect(TopK.first(limit, SortKey.comparator(order)));
+    }
+
+    @Override
+    public synchronized Set<String> distinctPositions(FootballerQuery query) {
+        return new LinkedHashSet<>(query.distinctPositions(store));
+    }
+
+    @Override
+    public void close() {
+    }
+}
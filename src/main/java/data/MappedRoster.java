@@ -0,0 +1,329 @@
+package data;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Read only view of a roster file, queried directly against the memory mapped pages: nothing is deserialized until a
+ * single row is asked for, opening is just an {@code mmap}, and the pages are shared through the OS page cache by every
+ * process reading the same file.
+ * <p>
+ * File layout, little endian: a 32 byte header, the fixed width records described in {@link RosterLayout}, the
+ * position code bytes and the string table, which starts with the position dictionary followed by the names. The
+ * whole file is mapped as a single buffer, so it is limited to 2 GB.
+ * <pre>
+ * header:  0 magic (int)   4 version (int)   8 player count (int)   12 dictionary size (int)
+ *         16 position codes offset (long)   24 string table offset (long)
+ * </pre>
+ */
+public class MappedRoster {
+
+    private static final int MAGIC = 0x4C425446;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int codesOffset;
+    private final int stringsOffset;
+    private final String[] dictionary;
+
+    private MappedRoster(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(RosterLayout.ORDER);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a roster file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported roster file version: " + buffer.getInt(4));
+        }
+        this.size = buffer.getInt(8);
+        this.codesOffset = (int) buffer.getLong(16);
+        this.stringsOffset = (int) buffer.getLong(24);
+        this.dictionary = new String[buffer.getInt(12)];
+        int offset = 0;
+        for (int code = 0; code < dictionary.length; code++) {
+            dictionary[code] = string(offset);
+            offset += 2 + Short.toUnsignedInt(buffer.getShort(stringsOffset + offset));
+        }
+    }
+
+    public static MappedRoster open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Roster file larger than 2 GB: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedRoster(mapped);
+        }
+    }
+
+    public static void write(FootballerStore store, Path file) throws IOException {
+        int size = store.size();
+        PositionDictionary positions = store.dictionary();
+        byte[][] dictionary = new byte[positions.size()][];
+        long dictionaryBytes = 0;
+        for (int code = 0; code < dictionary.length; code++) {
+            dictionary[code] = encode(positions.position(code));
+            dictionaryBytes += 2 + dictionary[code].length;
+        }
+
+        long codesOffset = HEADER_SIZE + (long) size * RosterLayout.RECORD_SIZE;
+        long codeCount = 0;
+        for (int row = 0; row < size; row++) {
+            codeCount += store.getPositions(row).size();
+        }
+        long stringsOffset = codesOffset + codeCount;
+
+        try (LittleEndianOutput out = new LittleEndianOutput(Files.newOutputStream(file))) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(size);
+            out.putInt(dictionary.length);
+            out.putLong(codesOffset);
+            out.putLong(stringsOffset);
+
+            long nameOffset = dictionaryBytes;
+            int positionStart = 0;
+            for (int row = 0; row < size; row++) {
+                List<String> rowPositions = store.getPositions(row);
+                out.putInt(checkOffset(nameOffset));
+                out.putInt(store.getAge(row));
+                out.put((byte) store.getGender(row).ordinal());
+                out.put((byte) rowPositions.size());
+                out.putShort((short) 0);
+                out.putInt(positionStart);
+                out.putLong(store.getPositionMask(row));
+                nameOffset += 2 + encode(store.getName(row)).length;
+                positionStart += rowPositions.size();
+            }
+            for (int row = 0; row < size; row++) {
+                for (String position : store.getPositions(row)) {
+                    out.put((byte) positions.find(position));
+                }
+            }
+            for (byte[] position : dictionary) {
+                out.putString(position);
+            }
+            for (int row = 0; row < size; row++) {
+                out.putString(encode(store.getName(row)));
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        return string(buffer.getInt(record(row) + RosterLayout.NAME_OFFSET));
+    }
+
+    public int getAge(int row) {
+        return buffer.getInt(record(row) + RosterLayout.AGE);
+    }
+
+    public Gender getGender(int row) {
+        return GENDERS[buffer.get(record(row) + RosterLayout.GENDER)];
+    }
+
+    public long getPositionMask(int row) {
+        return buffer.getLong(record(row) + RosterLayout.POSITION_MASK);
+    }
+
+    public List<String> getPositions(int row) {
+        int record = record(row);
+        int count = buffer.get(record + RosterLayout.POSITION_COUNT);
+        int start = codesOffset + buffer.getInt(record + RosterLayout.POSITION_START);
+        List<String> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(dictionary[buffer.get(start + i)]);
+        }
+        return Collections.unmodifiableList(positions);
+    }
+
+    public Footballer get(int row) {
+        return new Footballer(getName(row), getAge(row), getGender(row), getPositions(row));
+    }
+
+    public int count(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            if (buffer.get(record + RosterLayout.GENDER) == ordinal) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts players of the given gender whose age lies in {@code [minAge, maxAge]}.
+     */
+    public int count(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            int age = buffer.getInt(record + RosterLayout.AGE);
+            if (buffer.get(record + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows of players of the given gender whose age lies in {@code [minAge, maxAge]}, in file order.
+     */
+    public int[] filter(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int[] rows = new int[Math.min(size, 16)];
+        int found = 0;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            int age = buffer.getInt(record + RosterLayout.AGE);
+            if (buffer.get(record + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                if (found == rows.length) {
+                    rows = Arrays.copyOf(rows, found * 2);
+                }
+                rows[found++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    public List<String> distinctPositions(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        long mask = 0L;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            int age = buffer.getInt(record + RosterLayout.AGE);
+            if (buffer.get(record + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                mask |= buffer.getLong(record + RosterLayout.POSITION_MASK);
+            }
+        }
+        List<String> positions = new ArrayList<>(Long.bitCount(mask));
+        for (; mask != 0L; mask &= mask - 1) {
+            positions.add(dictionary[Long.numberOfTrailingZeros(mask)]);
+        }
+        return positions;
+    }
+
+    public OptionalInt minAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int min = Integer.MAX_VALUE;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            min = Math.min(min, buffer.getInt(record + RosterLayout.AGE));
+        }
+        return OptionalInt.of(min);
+    }
+
+    public OptionalInt maxAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int max = Integer.MIN_VALUE;
+        for (int i = 0, record = HEADER_SIZE; i < size; i++, record += RosterLayout.RECORD_SIZE) {
+            max = Math.max(max, buffer.getInt(record + RosterLayout.AGE));
+        }
+        return OptionalInt.of(max);
+    }
+
+    private int record(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return HEADER_SIZE + row * RosterLayout.RECORD_SIZE;
+    }
+
+    private String string(int offset) {
+        int position = stringsOffset + offset;
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > RosterLayout.MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long for a roster file: " + value.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    private static int checkOffset(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Roster too large for a single roster file");
+        }
+        return (int) offset;
+    }
+
+    private static final class LittleEndianOutput implements AutoCloseable {
+
+        private final OutputStream out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(RosterLayout.ORDER);
+
+        LittleEndianOutput(OutputStream out) {
+            this.out = new BufferedOutputStream(out);
+        }
+
+        void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putShort(short value) throws IOException {
+            ensure(2);
+            buffer.putShort(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putString(byte[] bytes) throws IOException {
+            putShort((short) bytes.length);
+            flush();
+            out.write(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process store for the per-stage numbers {@link Instrumented} streams record, keyed by pipeline name. Repeated
+ * runs of the same pipeline add up. {@link #toJson()} dumps everything for a log line or an admin endpoint.
+ * <p>
+ * A disabled registry records nothing, and {@code Instrumented.of} then returns the stream it was given untouched.
+ * The {@link #global()} registry starts enabled only when the {@code data.metrics.enabled} system property is
+ * {@code true}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry(Boolean.getBoolean("data.metrics.enabled"));
+
+    private final Map<String, Pipeline> pipelines = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public MetricsRegistry() {
+        this(true);
+    }
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Pipeline pipeline(String name) {
+        return pipelines.computeIfAbsent(name, Pipeline::new);
+    }
+
+    public Collection<Pipeline> pipelines() {
+        return List.copyOf(pipelines.values());
+    }
+
+    public void clear() {
+        pipelines.clear();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"pipelines\":[");
+        List<Pipeline> sorted = new ArrayList<>(pipelines.values());
+        sorted.sort((a, b) -> a.name.compareTo(b.name));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            sorted.get(i).appendJson(json);
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Totals for one named pipeline: its stages in pipeline order and its terminal operation.
+     */
+    public static final class Pipeline {
+
+        private final String name;
+        private final Map<Integer, Stage> stages = new ConcurrentSkipListMap<>();
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile String terminal;
+
+        Pipeline(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public List<Stage> stages() {
+            return List.copyOf(stages.values());
+        }
+
+        /**
+         * Name of the last terminal operation run, or null if the pipeline never completed.
+         */
+        public String terminal() {
+            return terminal;
+        }
+
+        public long runs() {
+            return runs.sum();
+        }
+
+        /**
+         * Wall time spent in terminal operations, which includes every stage.
+         */
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * Bytes allocated by the thread running the terminal operation, or 0 where the JVM can't tell. Work done
+         * by other threads of a parallel stream is not included.
+         */
+        public long allocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        Stage stage(int index, String op) {
+            return stages.computeIfAbsent(index, i -> new Stage(op));
+        }
+
+        void completed(String terminal, long nanos, long allocatedBytes) {
+            this.terminal = terminal;
+            this.runs.increment();
+            this.nanos.add(nanos);
+            this.allocatedBytes.add(allocatedBytes);
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("{\"name\":");
+            appendString(json, name);
+            json.append(",\"terminal\":");
+            if (terminal == null) {
+                json.append("null");
+            } else {
+                appendString(json, terminal);
+            }
+            json.append(",\"runs\":").append(runs())
+                    .append(",\"nanos\":").append(nanos())
+                    .append(",\"allocatedBytes\":").append(allocatedBytes())
+                    .append(",\"stages\":[");
+            boolean first = true;
+            for (Stage stage : stages.values()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                stage.appendJson(json);
+            }
+            json.append("]}");
+        }
+    }
+
+    /**
+     * Counts for one intermediate operation. {@link #nanos()} is the time spent in the functions passed to the
+     * operation (predicate, mapper, comparator), so it is zero for operations that take none, such as {@code limit}.
+     */
+    public static final class Stage {
+
+        private final String op;
+        private final LongAdder in = new LongAdder();
+        private final LongAdder out = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        Stage(String op) {
+            this.op = op;
+        }
+
+        public String op() {
+            return op;
+        }
+
+        public long in() {
+            return in.sum();
+        }
+
+        public long out() {
+            return out.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        void countIn() {
+            in.increment();
+        }
+
+        void countOut() {
+            out.increment();
+        }
+
+        void addNanos(long nanos) {
+            this.nanos.add(nanos);
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("{\"op\":");
+            appendString(json, op);
+            json.append(",\"in\":").append(in())
+                    .append(",\"out\":").append(out())
+                    .append(",\"nanos\":").append(nanos())
+                    .append('}');
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded max-heap of the {@code k} closest points seen so far, keyed by squared distance.
+ */
+final class NearestNeighbours<P extends Point> {
+
+    private final long x;
+    private final long y;
+    private final int k;
+    private final long[] distances;
+    private final Object[] points;
+    private int size;
+
+    NearestNeighbours(int x, int y, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k: " + k);
+        }
+        this.x = x;
+        this.y = y;
+        this.k = k;
+        this.distances = new long[k];
+        this.points = new Object[k];
+    }
+
+    static long squaredDistance(long x1, long y1, long x2, long y2) {
+        long dx = x1 - x2;
+        long dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    void offer(P point) {
+        long distance = squaredDistance(x, y, point.getX(), point.getY());
+        if (size < k) {
+            int i = size++;
+            while (i > 0 && distances[(i - 1) / 2] < distance) {
+                distances[i] = distances[(i - 1) / 2];
+                points[i] = points[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            distances[i] = distance;
+            points[i] = point;
+        } else if (k > 0 && distance < distances[0]) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= k) {
+                    break;
+                }
+                if (child + 1 < k && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                distances[i] = distances[child];
+                points[i] = points[child];
+                i = child;
+            }
+            distances[i] = distance;
+            points[i] = point;
+        }
+    }
+
+    /**
+     * True when no point at squared distance {@code distance} or more can improve the result.
+     */
+    boolean isClosed(long distance) {
+        return size == k && distance >= distances[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    List<P> toList() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(distances[a], distances[b]));
+        List<P> result = new ArrayList<>(size);
+        for (Integer i : order) {
+            result.add((P) points[i]);
+        }
+        return result;
+    }
+}
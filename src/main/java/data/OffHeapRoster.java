@@ -0,0 +1,431 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * Roster storage outside the Java heap, for rosters too large to keep as objects without long GC pauses. Players are
+ * the fixed width records of {@link RosterLayout}; names and position codes live in their own areas. All three areas
+ * are made of direct {@link ByteBuffer} segments that are allocated as the roster grows and never moved, so the heap
+ * only holds the segment references and the position dictionary, however many players are added.
+ * <p>
+ * Name offsets and position starts are unsigned ints, which caps the name area and the code area at 4 GB each. No
+ * entry crosses a segment boundary. The roster is not safe for concurrent mutation. Segments are released when the
+ * roster becomes unreachable.
+ */
+public class OffHeapRoster {
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final int RECORD_SHIFT = 16;
+    private static final int RECORDS_PER_SEGMENT = 1 << RECORD_SHIFT;
+    private static final int STRING_SHIFT = 22;
+    private static final int STRING_SEGMENT_SIZE = 1 << STRING_SHIFT;
+    private static final int CODE_SHIFT = 20;
+    private static final int CODE_SEGMENT_SIZE = 1 << CODE_SHIFT;
+    private static final long MAX_AREA_BYTES = 1L << 32;
+
+    private final PositionDictionary dictionary = new PositionDictionary();
+
+    private ByteBuffer[] records = new ByteBuffer[0];
+    private ByteBuffer[] strings = new ByteBuffer[0];
+    private ByteBuffer[] codes = new ByteBuffer[0];
+    private int size;
+    private long stringEnd;
+    private long codeEnd;
+
+    public static OffHeapRoster of(Collection<Footballer> footballers) {
+        OffHeapRoster roster = new OffHeapRoster();
+        footballers.forEach(roster::add);
+        return roster;
+    }
+
+    public static OffHeapRoster of(FootballerStore store) {
+        OffHeapRoster roster = new OffHeapRoster();
+        for (int row = 0; row < store.size(); row++) {
+            roster.add(store.getName(row), store.getAge(row), store.getGender(row), store.getPositions(row));
+        }
+        return roster;
+    }
+
+    public void add(Footballer footballer) {
+        add(footballer.getName(), footballer.getAge(), footballer.getGender(), footballer.getPositions());
+    }
+
+    public void add(String name, int age, Gender gender, List<String> positions) {
+        Objects.requireNonNull(gender, "gender");
+        if (positions.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many positions for " + name + ": " + positions.size());
+        }
+        long nameOffset = putString(name);
+        long positionStart = reserveCodes(positions.size());
+        int codeIndex = (int) (positionStart & (CODE_SEGMENT_SIZE - 1));
+        long mask = 0L;
+        for (int i = 0; i < positions.size(); i++) {
+            int code = dictionary.code(positions.get(i));
+            codes[(int) (positionStart >>> CODE_SHIFT)].put(codeIndex + i, (byte) code);
+            mask |= dictionary.bit(code);
+        }
+
+        int segment = size >>> RECORD_SHIFT;
+        if (segment == records.length) {
+            records = Arrays.copyOf(records, segment + 1);
+            records[segment] = allocate(RECORDS_PER_SEGMENT * RosterLayout.RECORD_SIZE);
+        }
+        ByteBuffer buffer = records[segment];
+        int record = (size & (RECORDS_PER_SEGMENT - 1)) * RosterLayout.RECORD_SIZE;
+        buffer.putInt(record + RosterLayout.NAME_OFFSET, (int) nameOffset);
+        buffer.putInt(record + RosterLayout.AGE, age);
+        buffer.put(record + RosterLayout.GENDER, (byte) gender.ordinal());
+        buffer.put(record + RosterLayout.POSITION_COUNT, (byte) positions.size());
+        buffer.putInt(record + RosterLayout.POSITION_START, (int) positionStart);
+        buffer.putLong(record + RosterLayout.POSITION_MASK, mask);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PositionDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Direct memory held by the roster's segments, in bytes.
+     */
+    public long offHeapBytes() {
+        return (long) records.length * RECORDS_PER_SEGMENT * RosterLayout.RECORD_SIZE
+                + (long) strings.length * STRING_SEGMENT_SIZE
+                + (long) codes.length * CODE_SEGMENT_SIZE;
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return string(Integer.toUnsignedLong(segment(row).getInt(record(row) + RosterLayout.NAME_OFFSET)));
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return segment(row).getInt(record(row) + RosterLayout.AGE);
+    }
+
+    public Gender getGender(int row) {
+        checkRow(row);
+        return GENDERS[segment(row).get(record(row) + RosterLayout.GENDER)];
+    }
+
+    public long getPositionMask(int row) {
+        checkRow(row);
+        return segment(row).getLong(record(row) + RosterLayout.POSITION_MASK);
+    }
+
+    public List<String> getPositions(int row) {
+        checkRow(row);
+        ByteBuffer buffer = segment(row);
+        int record = record(row);
+        int count = buffer.get(record + RosterLayout.POSITION_COUNT);
+        long start = Integer.toUnsignedLong(buffer.getInt(record + RosterLayout.POSITION_START));
+        List<String> positions = new ArrayList<>(count);
+        if (count > 0) {
+            ByteBuffer codeSegment = codes[(int) (start >>> CODE_SHIFT)];
+            int index = (int) (start & (CODE_SEGMENT_SIZE - 1));
+            for (int i = 0; i < count; i++) {
+                positions.add(dictionary.position(codeSegment.get(index + i)));
+            }
+        }
+        return Collections.unmodifiableList(positions);
+    }
+
+    public Footballer get(int row) {
+        return new Footballer(getName(row), getAge(row), getGender(row), getPositions(row));
+    }
+
+    public int count(Gender gender) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            for (int i = 0, end = segmentSize(segment) * RosterLayout.RECORD_SIZE; i < end; i += RosterLayout.RECORD_SIZE) {
+                if (buffer.get(i + RosterLayout.GENDER) == ordinal) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts players of the given gender whose age lies in {@code [minAge, maxAge]}.
+     */
+    public int count(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int count = 0;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            for (int i = 0, end = segmentSize(segment) * RosterLayout.RECORD_SIZE; i < end; i += RosterLayout.RECORD_SIZE) {
+                int age = buffer.getInt(i + RosterLayout.AGE);
+                if (buffer.get(i + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows of players of the given gender whose age lies in {@code [minAge, maxAge]}, in insertion
+     * order.
+     */
+    public int[] filter(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        int[] rows = new int[Math.min(size, 16)];
+        int found = 0;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            int base = segment << RECORD_SHIFT;
+            for (int i = 0, n = segmentSize(segment); i < n; i++) {
+                int record = i * RosterLayout.RECORD_SIZE;
+                int age = buffer.getInt(record + RosterLayout.AGE);
+                if (buffer.get(record + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                    if (found == rows.length) {
+                        rows = Arrays.copyOf(rows, found * 2);
+                    }
+                    rows[found++] = base + i;
+                }
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    public List<String> distinctPositions(Gender gender, int minAge, int maxAge) {
+        byte ordinal = (byte) gender.ordinal();
+        long mask = 0L;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            for (int i = 0, end = segmentSize(segment) * RosterLayout.RECORD_SIZE; i < end; i += RosterLayout.RECORD_SIZE) {
+                int age = buffer.getInt(i + RosterLayout.AGE);
+                if (buffer.get(i + RosterLayout.GENDER) == ordinal && age >= minAge && age <= maxAge) {
+                    mask |= buffer.getLong(i + RosterLayout.POSITION_MASK);
+                }
+            }
+        }
+        return dictionary.positions(mask);
+    }
+
+    public OptionalInt minAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int min = Integer.MAX_VALUE;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            for (int i = 0, end = segmentSize(segment) * RosterLayout.RECORD_SIZE; i < end; i += RosterLayout.RECORD_SIZE) {
+                min = Math.min(min, buffer.getInt(i + RosterLayout.AGE));
+            }
+        }
+        return OptionalInt.of(min);
+    }
+
+    public OptionalInt maxAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int max = Integer.MIN_VALUE;
+        for (int segment = 0; segment < records.length; segment++) {
+            ByteBuffer buffer = records[segment];
+            for (int i = 0, end = segmentSize(segment) * RosterLayout.RECORD_SIZE; i < end; i += RosterLayout.RECORD_SIZE) {
+                max = Math.max(max, buffer.getInt(i + RosterLayout.AGE));
+            }
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Rows of one page of the roster ordered by the sort keys, like {@code sorted(...).skip(skip).limit(limit)}:
+     * only {@code skip + limit} rows are kept in a bounded heap, nothing is copied onto the heap while scanning. Ties
+     * keep insertion order. Names are compared by their UTF-8 bytes, which is code point order.
+     */
+    public int[] sorted(int skip, int limit, SortKey... order) {
+        if (skip < 0 || limit < 0) {
+            throw new IllegalArgumentException("Negative skip or limit: " + skip + ", " + limit);
+        }
+        if (order.length == 0) {
+            throw new IllegalArgumentException("No sort keys");
+        }
+        int capacity = (int) Math.min((long) skip + limit, size);
+        int[] heap = new int[capacity];
+        int count = 0;
+        for (int row = 0; row < size && capacity > 0; row++) {
+            if (count < capacity) {
+                heap[count] = row;
+                siftUp(heap, count++, order);
+            } else if (compare(row, heap[0], order) < 0) {
+                heap[0] = row;
+                siftDown(heap, count, order);
+            }
+        }
+        for (int end = count - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, end, order);
+        }
+        return skip >= count ? new int[0] : Arrays.copyOfRange(heap, skip, count);
+    }
+
+    /**
+     * Max-heap on the sort order: the root is the worst row kept so far.
+     */
+    private void siftUp(int[] heap, int index, SortKey[] order) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(heap[parent], row, order) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private void siftDown(int[] heap, int count, SortKey[] order) {
+        int row = heap[0];
+        int index = 0;
+        for (int child = 1; child < count; child = 2 * index + 1) {
+            if (child + 1 < count && compare(heap[child + 1], heap[child], order) > 0) {
+                child++;
+            }
+            if (compare(heap[child], row, order) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private int compare(int a, int b, SortKey[] order) {
+        ByteBuffer left = segment(a);
+        ByteBuffer right = segment(b);
+        int leftRecord = record(a);
+        int rightRecord = record(b);
+        for (SortKey key : order) {
+            int result;
+            switch (key) {
+                case GENDER:
+                    result = Byte.compare(left.get(leftRecord + RosterLayout.GENDER), right.get(rightRecord + RosterLayout.GENDER));
+                    break;
+                case AGE:
+                    result = Integer.compare(left.getInt(leftRecord + RosterLayout.AGE), right.getInt(rightRecord + RosterLayout.AGE));
+                    break;
+                default:
+                    result = compareStrings(Integer.toUnsignedLong(left.getInt(leftRecord + RosterLayout.NAME_OFFSET)),
+                            Integer.toUnsignedLong(right.getInt(rightRecord + RosterLayout.NAME_OFFSET)));
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a, b);
+    }
+
+    private int compareStrings(long a, long b) {
+        ByteBuffer left = strings[(int) (a >>> STRING_SHIFT)];
+        ByteBuffer right = strings[(int) (b >>> STRING_SHIFT)];
+        int leftIndex = (int) (a & (STRING_SEGMENT_SIZE - 1));
+        int rightIndex = (int) (b & (STRING_SEGMENT_SIZE - 1));
+        int leftLength = Short.toUnsignedInt(left.getShort(leftIndex));
+        int rightLength = Short.toUnsignedInt(right.getShort(rightIndex));
+        for (int i = 0, n = Math.min(leftLength, rightLength); i < n; i++) {
+            int result = Integer.compare(Byte.toUnsignedInt(left.get(leftIndex + 2 + i)),
+                    Byte.toUnsignedInt(right.get(rightIndex + 2 + i)));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(leftLength, rightLength);
+    }
+
+    private long putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > RosterLayout.MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long for an off-heap roster: " + value.substring(0, 32) + "...");
+        }
+        long offset = reserve(2 + bytes.length, stringEnd, STRING_SHIFT);
+        if (offset >>> STRING_SHIFT == strings.length) {
+            strings = Arrays.copyOf(strings, strings.length + 1);
+            strings[strings.length - 1] = allocate(STRING_SEGMENT_SIZE);
+        }
+        ByteBuffer segment = strings[(int) (offset >>> STRING_SHIFT)];
+        int index = (int) (offset & (STRING_SEGMENT_SIZE - 1));
+        segment.putShort(index, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            segment.put(index + 2 + i, bytes[i]);
+        }
+        stringEnd = offset + 2 + bytes.length;
+        return offset;
+    }
+
+    private long reserveCodes(int count) {
+        long offset = reserve(count, codeEnd, CODE_SHIFT);
+        if (count > 0 && offset >>> CODE_SHIFT == codes.length) {
+            codes = Arrays.copyOf(codes, codes.length + 1);
+            codes[codes.length - 1] = allocate(CODE_SEGMENT_SIZE);
+        }
+        codeEnd = offset + count;
+        return offset;
+    }
+
+    /**
+     * Returns where an entry of the given length starts: at {@code end}, or at the next segment if it would not fit
+     * in the current one.
+     */
+    private static long reserve(int length, long end, int shift) {
+        long segmentSize = 1L << shift;
+        long offset = (end & (segmentSize - 1)) + length > segmentSize ? (end + segmentSize - 1) & -segmentSize : end;
+        if (offset + length > MAX_AREA_BYTES) {
+            throw new IllegalStateException("Off-heap roster area full");
+        }
+        return offset;
+    }
+
+    private String string(long offset) {
+        ByteBuffer segment = strings[(int) (offset >>> STRING_SHIFT)];
+        int index = (int) (offset & (STRING_SEGMENT_SIZE - 1));
+        byte[] bytes = new byte[Short.toUnsignedInt(segment.getShort(index))];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = segment.get(index + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer segment(int row) {
+        return records[row >>> RECORD_SHIFT];
+    }
+
+    private static int record(int row) {
+        return (row & (RECORDS_PER_SEGMENT - 1)) * RosterLayout.RECORD_SIZE;
+    }
+
+    private int segmentSize(int segment) {
+        return Math.min(RECORDS_PER_SEGMENT, size - (segment << RECORD_SHIFT));
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(RosterLayout.ORDER);
+    }
+}
@@ -5,11 +5,23 @@ public class Point {
     private final int y;
     public Point(int x, int y) { this.x = x;
         this.y = y; }
+    /**
+     * Returns a canonical, possibly shared, point: repeated calls with the same coordinates usually return the same
+     * instance. See {@link PointCache}.
+     */
+    public static Point of(int x, int y) { return PointCache.points().point(x, y); }
+    public int getX() { return x; }
+    public int getY() { return y; }
     @Override public boolean equals(Object o) {
+        if (o == this)
+            return true;
         if (!(o instanceof Point))
             return false;
         Point p = (Point)o;
         return p.x == x && p.y == y;
     }
+    @Override public int hashCode() {
+        return 31 * x + y;
+    }
 // Remainder omitted
 }
@@ -0,0 +1,97 @@
+package data;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizing caches behind {@link Point#of(int, int)} and {@link ColorPoint#of(int, int, int)}.
+ * <p>
+ * Points with both coordinates in {@code [-128, 127]} come from a fixed table and are never evicted. Everything else
+ * goes through a direct mapped cache of {@value #SLOTS} slots: a miss replaces whatever shared the slot, so memory
+ * stays bounded and lookups never lock. Slots are written racily, which is safe because points are immutable (their
+ * fields are final); at worst two threads create the same point once each.
+ */
+public final class PointCache {
+
+    private static final int SMALL_MIN = -128;
+    private static final int SMALL_SIZE = 256;
+    private static final int SLOTS = 1 << 16;
+
+    private static final PointCache POINTS = new PointCache(true);
+    private static final PointCache COLOR_POINTS = new PointCache(false);
+
+    private final Point[] small;
+    private final Point[] slots = new Point[SLOTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private PointCache(boolean smallTable) {
+        this.small = smallTable ? new Point[SMALL_SIZE * SMALL_SIZE] : null;
+    }
+
+    public static PointCache points() {
+        return POINTS;
+    }
+
+    public static PointCache colorPoints() {
+        return COLOR_POINTS;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    Point point(int x, int y) {
+        int smallX = x - SMALL_MIN;
+        int smallY = y - SMALL_MIN;
+        if (smallX >= 0 && smallX < SMALL_SIZE && smallY >= 0 && smallY < SMALL_SIZE) {
+            int index = smallX * SMALL_SIZE + smallY;
+            Point point = small[index];
+            if (point != null) {
+                hits.increment();
+                return point;
+            }
+            misses.increment();
+            return small[index] = new Point(x, y);
+        }
+        int slot = slot(PointKeys.pack(x, y));
+        Point point = slots[slot];
+        if (point != null && point.getX() == x && point.getY() == y) {
+            hits.increment();
+            return point;
+        }
+        misses.increment();
+        return slots[slot] = new Point(x, y);
+    }
+
+    ColorPoint colorPoint(int x, int y, int argb) {
+        int slot = slot(PointKeys.pack(x, y) * 31 + argb);
+        Point point = slots[slot];
+        if (point != null && point.getX() == x && point.getY() == y && ((ColorPoint) point).getArgb() == argb) {
+            hits.increment();
+            return (ColorPoint) point;
+        }
+        misses.increment();
+        ColorPoint created = new ColorPoint(x, y, argb);
+        slots[slot] = created;
+        return created;
+    }
+
+    private static int slot(long key) {
+        return PointKeys.slot(key, SLOTS - 1);
+    }
+}
@@ -0,0 +1,35 @@
+package data;
+
+/**
+ * Packs a coordinate pair into a single {@code long}, the key used by the primitive point collections.
+ */
+final class PointKeys {
+
+    private PointKeys() {
+    }
+
+    static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    static int x(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int y(long key) {
+        return (int) key;
+    }
+
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Too many points: " + expectedSize);
+        }
+        return capacity;
+    }
+}
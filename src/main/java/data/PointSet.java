@@ -0,0 +1,153 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * A set of coordinates stored as packed {@code long} keys in a single open addressing table (linear probing, load
+ * factor at most 1/2): no {@link Point} or entry object per element, 16 bytes per point at worst.
+ * <p>
+ * {@code 0L}, the key of (0, 0), marks free slots, so that point is tracked by a separate flag.
+ */
+public class PointSet {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsOrigin;
+
+    public PointSet() {
+        this(16);
+    }
+
+    public PointSet(int expectedSize) {
+        this.keys = new long[PointKeys.capacityFor(expectedSize)];
+        this.mask = keys.length - 1;
+    }
+
+    public boolean add(Point point) {
+        return add(point.getX(), point.getY());
+    }
+
+    public boolean add(int x, int y) {
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            boolean added = !containsOrigin;
+            containsOrigin = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        int slot = PointKeys.slot(key, mask);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > keys.length / 2) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean contains(Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    public boolean contains(int x, int y) {
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            return containsOrigin;
+        }
+        for (int slot = PointKeys.slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean remove(Point point) {
+        return remove(point.getX(), point.getY());
+    }
+
+    public boolean remove(int x, int y) {
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            boolean removed = containsOrigin;
+            containsOrigin = false;
+            size -= removed ? 1 : 0;
+            return removed;
+        }
+        for (int slot = PointKeys.slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        containsOrigin = false;
+        size = 0;
+    }
+
+    public void forEach(PointVisitor visitor) {
+        if (containsOrigin) {
+            visitor.visit(0, 0);
+        }
+        for (long key : keys) {
+            if (key != FREE) {
+                visitor.visit(PointKeys.x(key), PointKeys.y(key));
+            }
+        }
+    }
+
+    /**
+     * Closes the gap left at {@code slot} by moving back the entries of the same probe run (no tombstones).
+     */
+    private void shiftBack(int slot) {
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = PointKeys.slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void resize() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        mask = keys.length - 1;
+        for (long key : old) {
+            if (key != FREE) {
+                int slot = PointKeys.slot(key, mask);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface PointVisitor {
+        void visit(int x, int y);
+    }
+}
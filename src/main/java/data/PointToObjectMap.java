@@ -0,0 +1,179 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * A map from coordinates to values stored as packed {@code long} keys and a parallel value array in a single open
+ * addressing table (linear probing, load factor at most 1/2): no {@link Point} or entry object per mapping.
+ * <p>
+ * {@code 0L}, the key of (0, 0), marks free slots, so that point's value is kept in a separate field. Null values are
+ * not allowed.
+ */
+public class PointToObjectMap<V> {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private V originValue;
+
+    public PointToObjectMap() {
+        this(16);
+    }
+
+    public PointToObjectMap(int expectedSize) {
+        int capacity = PointKeys.capacityFor(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public V put(Point point, V value) {
+        return put(point.getX(), point.getY(), value);
+    }
+
+    /**
+     * Maps the coordinates to the value, returning the previous value or {@code null}.
+     */
+    public V put(int x, int y, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not allowed");
+        }
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            V previous = originValue;
+            originValue = value;
+            size += previous == null ? 1 : 0;
+            return previous;
+        }
+        int slot = PointKeys.slot(key, mask);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                V previous = value(slot);
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length / 2) {
+            resize();
+        }
+        return null;
+    }
+
+    public V get(Point point) {
+        return get(point.getX(), point.getY());
+    }
+
+    public V get(int x, int y) {
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            return originValue;
+        }
+        for (int slot = PointKeys.slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return value(slot);
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(int x, int y) {
+        return get(x, y) != null;
+    }
+
+    public V remove(Point point) {
+        return remove(point.getX(), point.getY());
+    }
+
+    public V remove(int x, int y) {
+        long key = PointKeys.pack(x, y);
+        if (key == FREE) {
+            V previous = originValue;
+            originValue = null;
+            size -= previous == null ? 0 : 1;
+            return previous;
+        }
+        for (int slot = PointKeys.slot(key, mask); keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = value(slot);
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        originValue = null;
+        size = 0;
+    }
+
+    public void forEach(EntryVisitor<? super V> visitor) {
+        if (originValue != null) {
+            visitor.visit(0, 0, originValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                visitor.visit(PointKeys.x(keys[slot]), PointKeys.y(keys[slot]), value(slot));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    private void shiftBack(int slot) {
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = PointKeys.slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = PointKeys.slot(oldKeys[i], mask);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor<V> {
+        void visit(int x, int y, V value);
+    }
+}
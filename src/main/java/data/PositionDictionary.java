@@ -0,0 +1,103 @@
+package data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns position names into dense codes, in order of first appearance. Codes are small enough to be used as bit
+ * indexes, so a set of positions can be represented as a single {@code long} mask. The top bit is never used, which
+ * keeps {@code -1} free as the "unknown position" result of {@link #mask(Collection)}.
+ */
+public class PositionDictionary {
+
+    public static final int MAX_CODES = Long.SIZE - 1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] positions = new String[16];
+    private byte[][] encoded = new byte[16][];
+    private int size;
+
+    public int code(String position) {
+        Integer code = codes.get(position);
+        if (code != null) {
+            return code;
+        }
+        if (size == MAX_CODES) {
+            throw new IllegalStateException("Too many distinct positions: " + size);
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            encoded = Arrays.copyOf(encoded, size * 2);
+        }
+        positions[size] = position;
+        encoded[size] = position.getBytes(StandardCharsets.UTF_8);
+        codes.put(position, size);
+        return size++;
+    }
+
+    /**
+     * Same as {@link #code(String)} for a position given as UTF-8 bytes; a String is only created the first time a
+     * position is seen.
+     */
+    public int code(byte[] bytes, int offset, int length) {
+        for (int code = 0; code < size; code++) {
+            if (Arrays.equals(encoded[code], 0, encoded[code].length, bytes, offset, offset + length)) {
+                return code;
+            }
+        }
+        return code(new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+
+    public int find(String position) {
+        Integer code = codes.get(position);
+        return code == null ? -1 : code;
+    }
+
+    public String position(int code) {
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Unknown position code: " + code);
+        }
+        return positions[code];
+    }
+
+    public long bit(int code) {
+        return 1L << code;
+    }
+
+    /**
+     * Returns the mask of the given positions, or {@code -1} if any of them has never been interned.
+     */
+    public long mask(Collection<String> positions) {
+        long mask = 0L;
+        for (String position : positions) {
+            int code = find(position);
+            if (code < 0) {
+                return -1L;
+            }
+            mask |= 1L << code;
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes a mask into its position names, in code order.
+     */
+    public List<String> positions(long mask) {
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0L) {
+            int code = Long.numberOfTrailingZeros(mask);
+            result.add(position(code));
+            mask &= mask - 1;
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,248 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Point region quadtree, best suited to clustered points: dense areas are split deeper while empty space costs
+ * nothing. Leaves hold up to {@value #LEAF_CAPACITY} points before splitting, and the root grows to cover points
+ * inserted outside it.
+ */
+public class QuadTree<P extends Point> implements SpatialIndex<P> {
+
+    private static final int LEAF_CAPACITY = 16;
+
+    private Node root;
+    private int size;
+
+    /**
+     * Creates a tree whose root initially covers the square {@code [minX, minX + side) x [minY, minY + side)}.
+     */
+    public QuadTree(int minX, int minY, int side) {
+        if (side <= 0) {
+            throw new IllegalArgumentException("Side must be positive: " + side);
+        }
+        this.root = new Node(minX, minY, side == 1 ? 1 : Long.highestOneBit(side - 1L) << 1);
+    }
+
+    /**
+     * Builds a tree sized to the bounding box of the points.
+     */
+    public static <P extends Point> QuadTree<P> bulkLoad(Collection<? extends P> points) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (P point : points) {
+            minX = Math.min(minX, point.getX());
+            minY = Math.min(minY, point.getY());
+            maxX = Math.max(maxX, point.getX());
+            maxY = Math.max(maxY, point.getY());
+        }
+        if (points.isEmpty()) {
+            minX = minY = maxX = maxY = 0;
+        }
+        long side = Math.max((long) maxX - minX, (long) maxY - minY) + 1;
+        QuadTree<P> tree = new QuadTree<>(minX, minY, (int) Math.min(side, Integer.MAX_VALUE));
+        points.forEach(tree::insert);
+        return tree;
+    }
+
+    @Override
+    public void insert(P point) {
+        while (!root.contains(point.getX(), point.getY())) {
+            grow(point.getX(), point.getY());
+        }
+        root.insert(point);
+        size++;
+    }
+
+    @Override
+    public boolean remove(P point) {
+        if (!root.contains(point.getX(), point.getY()) || !root.remove(point)) {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<P> range(int minX, int minY, int maxX, int maxY, Predicate<? super P> filter) {
+        List<P> result = new ArrayList<>();
+        root.range(minX, minY, maxX, maxY, filter, result);
+        return result;
+    }
+
+    /**
+     * Best first search: nodes are visited by increasing distance of their square to (x, y) until the closest
+     * remaining node is farther than the current k-th neighbour.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<P> nearest(int x, int y, int k, Predicate<? super P> filter) {
+        NearestNeighbours<P> nearest = new NearestNeighbours<>(x, y, k);
+        if (k == 0) {
+            return nearest.toList();
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(root, root.distance(x, y)));
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (nearest.isClosed(candidate.distance)) {
+                break;
+            }
+            Node node = candidate.node;
+            if (node.children == null) {
+                for (int i = 0; i < node.count; i++) {
+                    P point = (P) node.items[i];
+                    if (filter.test(point)) {
+                        nearest.offer(point);
+                    }
+                }
+            } else {
+                for (Node child : node.children) {
+                    if (child.count > 0 || child.children != null) {
+                        queue.add(new Candidate(child, child.distance(x, y)));
+                    }
+                }
+            }
+        }
+        return nearest.toList();
+    }
+
+    /**
+     * Doubles the root towards (x, y), making the old root one of the new root's quadrants.
+     */
+    private void grow(int x, int y) {
+        long side = root.side * 2;
+        long minX = x < root.minX ? root.minX - root.side : root.minX;
+        long minY = y < root.minY ? root.minY - root.side : root.minY;
+        Node grown = new Node(minX, minY, side);
+        grown.split();
+        grown.children[grown.quadrant(root.minX, root.minY)] = root;
+        root = grown;
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final Node node;
+        private final long distance;
+
+        Candidate(Node node, long distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Long.compare(distance, other.distance);
+        }
+    }
+
+    private static final class Node {
+
+        private final long minX;
+        private final long minY;
+        private final long side;
+        private Object[] items = new Object[4];
+        private int count;
+        private Node[] children;
+
+        Node(long minX, long minY, long side) {
+            this.minX = minX;
+            this.minY = minY;
+            this.side = side;
+        }
+
+        boolean contains(long x, long y) {
+            return x >= minX && x < minX + side && y >= minY && y < minY + side;
+        }
+
+        /**
+         * Squared distance from (x, y) to the closest point of this node's square.
+         */
+        long distance(long x, long y) {
+            long dx = x < minX ? minX - x : Math.max(0, x - (minX + side - 1));
+            long dy = y < minY ? minY - y : Math.max(0, y - (minY + side - 1));
+            return dx * dx + dy * dy;
+        }
+
+        int quadrant(long x, long y) {
+            long half = side / 2;
+            return (x >= minX + half ? 1 : 0) | (y >= minY + half ? 2 : 0);
+        }
+
+        void split() {
+            long half = side / 2;
+            children = new Node[]{
+                    new Node(minX, minY, half),
+                    new Node(minX + half, minY, half),
+                    new Node(minX, minY + half, half),
+                    new Node(minX + half, minY + half, half)
+            };
+        }
+
+        void insert(Point point) {
+            Node node = this;
+            while (node.children != null) {
+                node = node.children[node.quadrant(point.getX(), point.getY())];
+            }
+            if (node.count == node.items.length) {
+                node.items = Arrays.copyOf(node.items, node.items.length * 2);
+            }
+            node.items[node.count++] = point;
+            if (node.count > LEAF_CAPACITY && node.side > 1) {
+                Object[] items = node.items;
+                int count = node.count;
+                node.split();
+                node.items = null;
+                node.count = 0;
+                for (int i = 0; i < count; i++) {
+                    node.insert((Point) items[i]);
+                }
+            }
+        }
+
+        boolean remove(Point point) {
+            Node node = this;
+            while (node.children != null) {
+                node = node.children[node.quadrant(point.getX(), point.getY())];
+            }
+            for (int i = 0; i < node.count; i++) {
+                if (node.items[i].equals(point)) {
+                    node.items[i] = node.items[--node.count];
+                    node.items[node.count] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        <P extends Point> void range(int minX, int minY, int maxX, int maxY, Predicate<? super P> filter, List<P> result) {
+            if (maxX < this.minX || maxY < this.minY || minX >= this.minX + side || minY >= this.minY + side) {
+                return;
+            }
+            if (children != null) {
+                for (Node child : children) {
+                    child.range(minX, minY, maxX, maxY, filter, result);
+                }
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                P point = (P) items[i];
+                int x = point.getX();
+                int y = point.getY();
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && filter.test(point)) {
+                    result.add(point);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches query results over a {@link Roster}, keyed on what the query asks for (a {@link FootballerQuery}, the
+ * result kind and its ordering) rather than on lambda identity, so the same question asked twice is answered once.
+ * <p>
+ * Every entry remembers the {@link Roster#version()} it was computed at and is recomputed once the roster has
+ * changed since. At most {@code maxEntries} results are kept; the least recently used one is evicted first.
+ */
+public class QueryCache {
+
+    private final Roster roster;
+    private final int maxEntries;
+    private final Map<Key, Result> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QueryCache(Roster roster, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.roster = Objects.requireNonNull(roster, "roster");
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                if (size() > QueryCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public long count(FootballerQuery query) {
+        return get(new Key(Kind.COUNT, query, List.of(), -1), query::count);
+    }
+
+    /**
+     * Matching footballers in roster order.
+     */
+    public List<Footballer> list(FootballerQuery query) {
+        return get(new Key(Kind.LIST, query, List.of(), -1), members -> Collections.unmodifiableList(query.list(members)));
+    }
+
+    /**
+     * Matching footballers ordered by the sort keys, like
+     * {@code sorted(comparing(key1).thenComparing(key2)...)}.
+     */
+    public List<Footballer> sorted(FootballerQuery query, SortKey... order) {
+        List<SortKey> keys = sortKeys(order);
+        return get(new Key(Kind.SORTED, query, keys, -1), members -> {
+            List<Footballer> result = query.list(members);
+            result.sort(SortKey.comparator(keys));
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * The first {@code limit} matching footballers by the sort keys, like {@code sorted(...).limit(limit)}.
+     */
+    public List<Footballer> first(FootballerQuery query, int limit, SortKey... order) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Negative limit: " + limit);
+        }
+        List<SortKey> keys = sortKeys(order);
+        return get(new Key(Kind.FIRST, query, keys, limit), members -> Collections.unmodifiableList(members.stream()
+                .filter(query::test)
+                .collect(TopK.first(limit, SortKey.comparator(keys)))));
+    }
+
+    /**
+     * Distinct positions of the matching footballers, in the order they are first met.
+     */
+    public List<String> distinctPositions(FootballerQuery query) {
+        return get(new Key(Kind.DISTINCT_POSITIONS, query, List.of(), -1), members -> {
+            Set<String> distinct = new LinkedHashSet<>();
+            for (Footballer footballer : members) {
+                if (query.test(footballer)) {
+                    distinct.addAll(footballer.getPositions());
+                }
+            }
+            return Collections.unmodifiableList(new ArrayList<>(distinct));
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Looks the key up and computes the result on a miss. The computation runs outside the lock; the version is
+     * read before the snapshot, so a change that races with it leaves the entry stale rather than wrong.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R get(Key key, Function<List<Footballer>, R> compute) {
+        long version = roster.version();
+        synchronized (entries) {
+            Result entry = entries.get(key);
+            if (entry != null && entry.version == version) {
+                hits.increment();
+                return (R) entry.result;
+            }
+        }
+        misses.increment();
+        R result = compute.apply(roster.footballers());
+        synchronized (entries) {
+            Result entry = entries.get(key);
+            if (entry == null || entry.version < version) {
+                entries.put(key, new Result(version, result));
+            }
+        }
+        return result;
+    }
+
+    private static List<SortKey> sortKeys(SortKey[] order) {
+        if (order.length == 0) {
+            throw new IllegalArgumentException("At least one sort key is required");
+        }
+        return List.of(order);
+    }
+
+    private enum Kind {
+        COUNT, LIST, SORTED, FIRST, DISTINCT_POSITIONS
+    }
+
+    private static final class Key {
+
+        private final Kind kind;
+        private final FootballerQuery query;
+        private final List<SortKey> order;
+        private final int limit;
+
+        Key(Kind kind, FootballerQuery query, List<SortKey> order, int limit) {
+            this.kind = kind;
+            this.query = Objects.requireNonNull(query, "query");
+            this.order = order;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return kind == other.kind && limit == other.limit && query.equals(other.query) && order.equals(other.order);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, query, order, limit);
+        }
+    }
+
+    private static final class Result {
+
+        private final long version;
+        private final Object result;
+
+        Result(long version, Object result) {
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
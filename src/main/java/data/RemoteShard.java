@@ -0,0 +1,196 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A shard living in a {@link ShardServer}, reached over a loopback socket. Calls are serialized over the one
+ * connection; transport failures surface as {@link UncheckedIOException}, failures on the server side as
+ * {@link IllegalStateException}.
+ */
+public class RemoteShard implements Shard {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Process process;
+
+    private RemoteShard(Socket socket, Process process) throws IOException {
+        this.socket = socket;
+        this.process = process;
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static RemoteShard connect(int port) throws IOException {
+        return new RemoteShard(new Socket(InetAddress.getLoopbackAddress(), port), null);
+    }
+
+    /**
+     * Starts a {@link ShardServer} in a child JVM with the current class path and connects to it. The child exits
+     * when this shard is closed or the current JVM dies.
+     */
+    public static RemoteShard spawn() throws IOException {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(), "-cp", System.getProperty("java.class.path"),
+                ShardServer.class.getName())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String port = reader.readLine();
+            if (port == null) {
+                throw new IOException("Shard server exited before listening");
+            }
+            return new RemoteShard(new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())), process);
+        } catch (IOException | RuntimeException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void add(Footballer footballer) {
+        try {
+            out.writeByte(ShardProtocol.ADD);
+            ShardProtocol.writeFootballer(out, footballer);
+            response();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        try {
+            out.writeByte(ShardProtocol.SIZE);
+            return response().readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized long count(FootballerQuery query) {
+        try {
+            request(ShardProtocol.COUNT, query);
+            return response().readLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized long[] countAndAgeSum(FootballerQuery query) {
+        try {
+            request(ShardProtocol.COUNT_AND_AGE_SUM, query);
+            DataInputStream response = response();
+            return new long[]{response.readLong(), response.readLong()};
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized List<Footballer> list(FootballerQuery query) {
+        try {
+            request(ShardProtocol.LIST, query);
+            return ShardProtocol.readFootballers(response());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int minAge(FootballerQuery query) {
+        try {
+            request(ShardProtocol.MIN_AGE, query);
+            return response().readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int maxAge(FootballerQuery query) {
+        try {
+            request(ShardProtocol.MAX_AGE, query);
+            return response().readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized List<Footballer> first(FootballerQuery query, int limit, List<SortKey> order) {
+        try {
+            out.writeByte(ShardProtocol.FIRST);
+            query.writeTo(out);
+            out.writeInt(limit);
+            ShardProtocol.writeOrder(out, order);
+            return ShardProtocol.readFootballers(response());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Set<String> distinctPositions(FootballerQuery query) {
+        try {
+            request(ShardProtocol.DISTINCT_POSITIONS, query);
+            return new LinkedHashSet<>(ShardProtocol.readStrings(response()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (!socket.isClosed()) {
+                out.writeByte(ShardProtocol.CLOSE);
+                out.flush();
+                in.readByte();
+            }
+        } catch (IOException ignored) {
+            // the server is gone already
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+            if (process != null) {
+                process.destroy();
+            }
+        }
+    }
+
+    private void request(byte op, FootballerQuery query) throws IOException {
+        out.writeByte(op);
+        query.writeTo(out);
+    }
+
+    private DataInputStream response() throws IOException {
+        out.flush();
+        if (in.readByte() == ShardProtocol.ERROR) {
+            throw new IllegalStateException("Shard failed: " + in.readUTF());
+        }
+        return in;
+    }
+}
@@ -0,0 +1,271 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A mutable set of footballers that tells its {@link RosterListener}s about every insert, removal and
+ * {@link Footballer#increaseAge()} of its members. A footballer belongs to at most one roster at a time.
+ * <p>
+ * Ageing takes the shared side of a read-write lock, so players age concurrently with each other, while inserts,
+ * removals and listener registration are exclusive: a new listener never misses or double counts a change. The age
+ * changes of any one footballer are notified in the order they happen.
+ */
+public class Roster {
+
+    private static final int AGE_LOCK_STRIPES = 64;
+
+    private final Set<Footballer> footballers = new LinkedHashSet<>();
+    private final List<RosterListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private final Object[] ageLocks = new Object[AGE_LOCK_STRIPES];
+
+    public Roster() {
+        for (int i = 0; i < ageLocks.length; i++) {
+            ageLocks[i] = new Object();
+        }
+    }
+
+    public Roster(Collection<Footballer> footballers) {
+        this();
+        footballers.forEach(this::add);
+    }
+
+    public void add(Footballer footballer) {
+        lock.writeLock().lock();
+        try {
+            if (footballer.roster() != null) {
+                throw new IllegalArgumentException(footballer.getName() + " already belongs to a roster");
+            }
+            footballer.roster(this);
+            footballers.add(footballer);
+            version.incrementAndGet();
+            listeners.forEach(listener -> listener.added(footballer));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(Footballer footballer) {
+        lock.writeLock().lock();
+        try {
+            if (footballer.roster() != this) {
+                return false;
+            }
+            footballer.roster(null);
+            footballers.remove(footballer);
+            version.incrementAndGet();
+            listeners.forEach(listener -> listener.removed(footballer));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers the listener and replays every current member to it as {@link RosterListener#added(Footballer)}.
+     */
+    public void addListener(RosterListener listener) {
+        addListener(listener, true);
+    }
+
+    /**
+     * Registers the listener, replaying the current members to it first only if {@code replay} is set.
+     */
+    public void addListener(RosterListener listener, boolean replay) {
+        addListener(listener, replay ? listener::added : footballer -> {
+        });
+    }
+
+    /**
+     * Registers the listener after handing every current member to {@code snapshot}, with no change in between.
+     */
+    void addListener(RosterListener listener, Consumer<Footballer> snapshot) {
+        lock.writeLock().lock();
+        try {
+            footballers.forEach(snapshot);
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeListener(RosterListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * A counter bumped by every insert, removal and age change; results computed at one version are stale at any
+     * other.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Ages of the members of the given gender, or of all members when {@code gender} is null.
+     */
+    private int[] ageArray(Gender gender) {
+        lock.readLock().lock();
+        try {
+            int[] ages = new int[footballers.size()];
+            int count = 0;
+            for (Footballer footballer : footballers) {
+                if (gender == null || footballer.getGender() == gender) {
+                    ages[count++] = footballer.getAge();
+                }
+            }
+            return count == ages.length ? ages : Arrays.copyOf(ages, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int listenerCount() {
+        return listeners.size();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return footballers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current members, in insertion order.
+     */
+    public List<Footballer> footballers() {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(footballers));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stream<Footballer> stream() {
+        return footballers().stream();
+    }
+
+    /**
+     * The members' ages as a primitive stream; nothing is boxed. The ages are read when the stream is created.
+     */
+    public IntStream ages() {
+        return IntStream.of(ageArray(null));
+    }
+
+    public IntStream ages(Gender gender) {
+        return IntStream.of(ageArray(gender));
+    }
+
+    /**
+     * Counts members of the given gender whose age matches the predicate.
+     */
+    public long count(Gender gender, IntPredicate agePredicate) {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (Footballer footballer : footballers) {
+                if (footballer.getGender() == gender && agePredicate.test(footballer.getAge())) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalInt minAge() {
+        lock.readLock().lock();
+        try {
+            if (footballers.isEmpty()) {
+                return OptionalInt.empty();
+            }
+            int min = Integer.MAX_VALUE;
+            for (Footballer footballer : footballers) {
+                min = Math.min(min, footballer.getAge());
+            }
+            return OptionalInt.of(min);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalInt maxAge() {
+        lock.readLock().lock();
+        try {
+            if (footballers.isEmpty()) {
+                return OptionalInt.empty();
+            }
+            int max = Integer.MIN_VALUE;
+            for (Footballer footballer : footballers) {
+                max = Math.max(max, footballer.getAge());
+            }
+            return OptionalInt.of(max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalDouble averageAge() {
+        lock.readLock().lock();
+        try {
+            if (footballers.isEmpty()) {
+                return OptionalDouble.empty();
+            }
+            long sum = 0;
+            for (Footballer footballer : footballers) {
+                sum += footballer.getAge();
+            }
+            return OptionalDouble.of((double) sum / footballers.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ages every member by one year, splitting the work across cores.
+     */
+    public void ageAll() {
+        Footballer.ageAll(footballers());
+    }
+
+    boolean increaseAge(Footballer footballer) {
+        lock.readLock().lock();
+        try {
+            if (footballer.roster() != this) {
+                return false;
+            }
+            synchronized (ageLocks[System.identityHashCode(footballer) & (AGE_LOCK_STRIPES - 1)]) {
+                int age = footballer.incrementAge();
+                version.incrementAndGet();
+                for (RosterListener listener : listeners) {
+                    listener.ageChanged(footballer, age - 1, age);
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package data;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates of a {@link Roster} kept up to date as players are added, removed or aged, so reading them never scans
+ * the roster: per gender counts, an age histogram for min, max and percentiles, and position frequencies.
+ * <p>
+ * The histogram covers ages 0 to {@value #MAX_AGE}; ages outside that range are counted in the nearest bucket.
+ */
+public class RosterAggregates implements RosterListener {
+
+    public static final int MAX_AGE = 127;
+
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final AtomicLongArray genderCounts = new AtomicLongArray(GENDERS.length);
+    private final AtomicLongArray ageHistogram = new AtomicLongArray(MAX_AGE + 1);
+    private final Map<String, LongAdder> positionCounts = new ConcurrentHashMap<>();
+
+    private RosterAggregates() {
+    }
+
+    /**
+     * Creates aggregates of the roster's current members and keeps them up to date. This is the only way to get
+     * aggregates: they must see every member added before they can account for its removal.
+     */
+    public static RosterAggregates of(Roster roster) {
+        RosterAggregates aggregates = new RosterAggregates();
+        roster.addListener(aggregates);
+        return aggregates;
+    }
+
+    @Override
+    public void added(Footballer footballer) {
+        genderCounts.incrementAndGet(footballer.getGender().ordinal());
+        ageHistogram.incrementAndGet(bucket(footballer.getAge()));
+        footballer.getPositions().forEach(position -> positionCounts.computeIfAbsent(position, p -> new LongAdder()).increment());
+    }
+
+    @Override
+    public void removed(Footballer footballer) {
+        genderCounts.decrementAndGet(footballer.getGender().ordinal());
+        ageHistogram.decrementAndGet(bucket(footballer.getAge()));
+        footballer.getPositions().forEach(position -> positionCounts.get(position).decrement());
+    }
+
+    @Override
+    public void ageChanged(Footballer footballer, int oldAge, int newAge) {
+        ageHistogram.decrementAndGet(bucket(oldAge));
+        ageHistogram.incrementAndGet(bucket(newAge));
+    }
+
+    public long size() {
+        long size = 0;
+        for (int g = 0; g < GENDERS.length; g++) {
+            size += genderCounts.get(g);
+        }
+        return size;
+    }
+
+    public long count(Gender gender) {
+        return genderCounts.get(gender.ordinal());
+    }
+
+    public long countByAge(int age) {
+        return age < 0 || age > MAX_AGE ? 0 : ageHistogram.get(age);
+    }
+
+    public OptionalInt minAge() {
+        for (int age = 0; age <= MAX_AGE; age++) {
+            if (ageHistogram.get(age) > 0) {
+                return OptionalInt.of(age);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    public OptionalInt maxAge() {
+        for (int age = MAX_AGE; age >= 0; age--) {
+            if (ageHistogram.get(age) > 0) {
+                return OptionalInt.of(age);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns the smallest age such that at least {@code percentile} percent of the players are that age or younger.
+     */
+    public OptionalInt percentileAge(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        long[] counts = new long[MAX_AGE + 1];
+        long total = 0;
+        for (int age = 0; age <= MAX_AGE; age++) {
+            counts[age] = ageHistogram.get(age);
+            total += counts[age];
+        }
+        if (total == 0) {
+            return OptionalInt.empty();
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int age = 0; age <= MAX_AGE; age++) {
+            seen += counts[age];
+            if (seen >= rank) {
+                return OptionalInt.of(age);
+            }
+        }
+        return OptionalInt.of(MAX_AGE);
+    }
+
+    public long positionCount(String position) {
+        LongAdder count = positionCounts.get(position);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns a snapshot of the number of players per position, leaving out positions nobody plays any more.
+     */
+    public Map<String, Long> positionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        positionCounts.forEach((position, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                counts.put(position, sum);
+            }
+        });
+        return counts;
+    }
+
+    private static int bucket(int age) {
+        return Math.max(0, Math.min(MAX_AGE, age));
+    }
+}
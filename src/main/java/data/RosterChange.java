@@ -0,0 +1,78 @@
+package data;
+
+/**
+ * One change to a {@link Roster}, as published by a {@link RosterChangeFeed}. Insertions and removals carry the
+ * footballer's age at that moment as both {@code oldAge} and {@code newAge}.
+ */
+public final class RosterChange {
+
+    public enum Type {
+        ADDED, REMOVED, AGE_CHANGED
+    }
+
+    private final Type type;
+    private final Footballer footballer;
+    private final int oldAge;
+    private final int newAge;
+
+    private RosterChange(Type type, Footballer footballer, int oldAge, int newAge) {
+        this.type = type;
+        this.footballer = footballer;
+        this.oldAge = oldAge;
+        this.newAge = newAge;
+    }
+
+    public static RosterChange added(Footballer footballer, int age) {
+        return new RosterChange(Type.ADDED, footballer, age, age);
+    }
+
+    public static RosterChange removed(Footballer footballer, int age) {
+        return new RosterChange(Type.REMOVED, footballer, age, age);
+    }
+
+    public static RosterChange ageChanged(Footballer footballer, int oldAge, int newAge) {
+        return new RosterChange(Type.AGE_CHANGED, footballer, oldAge, newAge);
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public Footballer footballer() {
+        return footballer;
+    }
+
+    public int oldAge() {
+        return oldAge;
+    }
+
+    public int newAge() {
+        return newAge;
+    }
+
+    /**
+     * The single change equivalent to this one followed by {@code next} for the same footballer: the coalesced
+     * change, {@code null} when the two cancel out (added then removed), or {@code this} when they can't be
+     * combined.
+     */
+    RosterChange then(RosterChange next) {
+        if (next.footballer != footballer || type == Type.REMOVED) {
+            return this;
+        }
+        switch (next.type) {
+            case AGE_CHANGED:
+                return new RosterChange(type, footballer, type == Type.ADDED ? next.newAge : oldAge, next.newAge);
+            case REMOVED:
+                return type == Type.ADDED ? null : removed(footballer, next.newAge);
+            default:
+                return this;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.AGE_CHANGED
+                ? type + " " + footballer.getName() + " " + oldAge + " -> " + newAge
+                : type + " " + footballer.getName();
+    }
+}
@@ -0,0 +1,380 @@
+package data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the changes of a {@link Roster} as batches of {@link RosterChange}s, so consumers can keep their own
+ * views up to date instead of polling the whole roster. Every subscriber gets its own {@link RosterListener}, and
+ * with {@code replay} set it first receives every current member as {@code ADDED}, atomically with respect to later
+ * changes: snapshot plus feed add up to the roster. The snapshot is held apart from the bounded buffer, so it costs
+ * memory proportional to the roster but is never dropped, coalesced or failed by the overflow policy.
+ * <p>
+ * Each subscriber has a bounded buffer. One {@code onNext} consumes one unit of demand and delivers up to
+ * {@code batchSize} buffered changes. When a subscriber falls {@code bufferSize} changes behind, the
+ * {@link OverflowPolicy} decides what gives. Signals are delivered on the given executor, one at a time per
+ * subscriber; a subscriber that throws from a signal is cancelled.
+ */
+public class RosterChangeFeed implements Flow.Publisher<List<RosterChange>>, AutoCloseable {
+
+    /**
+     * What to do with a change that arrives when a subscriber's buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest buffered change. */
+        DROP_OLDEST,
+        /** Discard the arriving change. */
+        DROP_LATEST,
+        /**
+         * Fold the change into a buffered one for the same footballer (ages merge, added then removed cancels out);
+         * fail the subscription like {@link #ERROR} if there is none.
+         */
+        COALESCE,
+        /** Fail the subscription with an {@link IllegalStateException}. */
+        ERROR
+    }
+
+    private final Roster roster;
+    private final int batchSize;
+    private final int bufferSize;
+    private final OverflowPolicy policy;
+    private final boolean replay;
+    private final Executor executor;
+    private final Set<ChangeSubscription> subscriptions = new CopyOnWriteArraySet<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private volatile boolean closed;
+
+    public RosterChangeFeed(Roster roster, int bufferSize, OverflowPolicy policy) {
+        this(roster, 64, bufferSize, policy, true, ForkJoinPool.commonPool());
+    }
+
+    public RosterChangeFeed(Roster roster, int batchSize, int bufferSize, OverflowPolicy policy, boolean replay,
+                            Executor executor) {
+        if (batchSize < 1 || bufferSize < 1) {
+            throw new IllegalArgumentException("Batch and buffer size must be positive: " + batchSize + ", " + bufferSize);
+        }
+        this.roster = Objects.requireNonNull(roster, "roster");
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.replay = replay;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<RosterChange>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+            return;
+        }
+        subscriptions.add(subscription);
+        if (!subscription.isTerminated()) {
+            roster.addListener(subscription, replay ? subscription::snapshot : footballer -> {
+            });
+        }
+        if (subscription.isTerminated()) {
+            subscription.detach();
+        } else if (closed) {
+            subscription.complete();
+        } else {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * Changes discarded by the drop policies, over all subscribers.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Changes folded into earlier ones by {@link OverflowPolicy#COALESCE}, over all subscribers.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Live changes currently buffered, over all subscribers; never more than {@code bufferSize} each.
+     */
+    public int buffered() {
+        int buffered = 0;
+        for (ChangeSubscription subscription : subscriptions) {
+            buffered += subscription.bufferedSlots();
+        }
+        return buffered;
+    }
+
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops listening to the roster; subscribers receive what is still buffered, then {@code onComplete}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        subscriptions.forEach(ChangeSubscription::complete);
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription, RosterListener {
+
+        private final Flow.Subscriber<? super List<RosterChange>> subscriber;
+        private final AtomicInteger work = new AtomicInteger();
+        private final ArrayDeque<RosterChange> snapshot = new ArrayDeque<>();
+        private final ArrayDeque<Slot> buffer = new ArrayDeque<>();
+        private final Map<Footballer, Slot> pending = new IdentityHashMap<>();
+        private long requested;
+        private boolean completed;
+        private boolean terminated;
+        private Throwable failure;
+
+        ChangeSubscription(Flow.Subscriber<? super List<RosterChange>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Queues a replayed member. The snapshot is kept apart from the bounded buffer and is never subject to the
+         * overflow policy, so it always arrives complete, ahead of every live change.
+         */
+        void snapshot(Footballer footballer) {
+            synchronized (this) {
+                if (!terminated) {
+                    snapshot.addLast(RosterChange.added(footballer, footballer.getAge()));
+                }
+            }
+        }
+
+        synchronized boolean isTerminated() {
+            return terminated;
+        }
+
+        @Override
+        public void added(Footballer footballer) {
+            offer(RosterChange.added(footballer, footballer.getAge()));
+        }
+
+        @Override
+        public void removed(Footballer footballer) {
+            offer(RosterChange.removed(footballer, footballer.getAge()));
+        }
+
+        @Override
+        public void ageChanged(Footballer footballer, int oldAge, int newAge) {
+            offer(RosterChange.ageChanged(footballer, oldAge, newAge));
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Non-positive request: " + n));
+                } else {
+                    requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                }
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                terminated = true;
+                clear();
+            }
+            detach();
+        }
+
+        void complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            detach();
+            signal();
+        }
+
+        private void offer(RosterChange change) {
+            synchronized (this) {
+                if (terminated || completed) {
+                    return;
+                }
+                if (buffer.size() < bufferSize || makeRoom(change)) {
+                    Slot slot = new Slot(change);
+                    buffer.addLast(slot);
+                    pending.put(change.footballer(), slot);
+                }
+            }
+            signal();
+        }
+
+        /**
+         * Applies the overflow policy; returns whether the change should still be appended.
+         */
+        private boolean makeRoom(RosterChange change) {
+            switch (policy) {
+                case DROP_OLDEST:
+                    forget(buffer.pollFirst());
+                    dropped.increment();
+                    return true;
+                case DROP_LATEST:
+                    dropped.increment();
+                    return false;
+                case COALESCE:
+                    Slot slot = pending.get(change.footballer());
+                    if (slot != null) {
+                        RosterChange combined = slot.change.then(change);
+                        if (combined != slot.change) {
+                            if (combined == null) {
+                                forget(slot);
+                                buffer.removeLastOccurrence(slot);
+                            } else {
+                                slot.change = combined;
+                            }
+                            coalesced.increment();
+                            return false;
+                        }
+                    }
+                    fail(new IllegalStateException("Change buffer of " + bufferSize + " overflowed"));
+                    return false;
+                default:
+                    fail(new IllegalStateException("Change buffer of " + bufferSize + " overflowed"));
+                    return false;
+            }
+        }
+
+        private void forget(Slot slot) {
+            pending.remove(slot.change.footballer(), slot);
+        }
+
+        private void fail(Throwable error) {
+            failure = error;
+            terminated = true;
+            clear();
+            detach();
+        }
+
+        private void clear() {
+            snapshot.clear();
+            buffer.clear();
+            pending.clear();
+        }
+
+        void detach() {
+            roster.removeListener(this);
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Schedules a drain unless one is running. If the executor rejects it, the subscription is cancelled: there
+         * is no thread left to tell the subscriber, and a stuck work counter would block every later drain.
+         */
+        void signal() {
+            if (work.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    work.set(0);
+                    cancel();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                while (true) {
+                    List<RosterChange> batch = null;
+                    Throwable error = null;
+                    boolean done = false;
+                    synchronized (this) {
+                        if (failure != null) {
+                            error = failure;
+                            failure = null;
+                        } else if (terminated) {
+                            break;
+                        } else if (!isEmpty() && requested > 0) {
+                            batch = poll();
+                            if (requested != Long.MAX_VALUE) {
+                                requested--;
+                            }
+                        } else if (completed && isEmpty()) {
+                            terminated = true;
+                            done = true;
+                        } else {
+                            break;
+                        }
+                    }
+                    try {
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else if (done) {
+                            subscriber.onComplete();
+                        } else {
+                            subscriber.onNext(batch);
+                        }
+                    } catch (Throwable t) {
+                        cancel();
+                        break;
+                    }
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private boolean isEmpty() {
+            return snapshot.isEmpty() && buffer.isEmpty();
+        }
+
+        private List<RosterChange> poll() {
+            List<RosterChange> batch = new ArrayList<>(Math.min(batchSize, snapshot.size() + buffer.size()));
+            while (batch.size() < batchSize && !snapshot.isEmpty()) {
+                batch.add(snapshot.pollFirst());
+            }
+            while (batch.size() < batchSize && !buffer.isEmpty()) {
+                Slot slot = buffer.pollFirst();
+                forget(slot);
+                batch.add(slot.change);
+            }
+            return batch;
+        }
+
+        int bufferedSlots() {
+            synchronized (this) {
+                return buffer.size();
+            }
+        }
+    }
+
+    /**
+     * A buffered change; {@code change} is replaced when a later change is coalesced into it, and the slot leaves the
+     * buffer when they cancel out.
+     */
+    private static final class Slot {
+
+        private RosterChange change;
+
+        Slot(RosterChange change) {
+            this.change = change;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deterministic synthetic rosters for scale testing. Every player is derived from the seed and its index alone, so
+ * the same seed always yields the same roster no matter how the stream is split across threads, and players are
+ * produced lazily: a roster of any size never has to be held in memory.
+ */
+public class RosterGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final String[] FIRST_NAMES = {
+            "Alexia", "Aitana", "Ansu", "Arthur", "Carles", "Clara", "Frenkie", "Gerard", "Irene", "Jana",
+            "Jennifer", "Jordi", "Laia", "Leo", "Lucia", "Marc", "Mariona", "Pedri", "Ronald", "Sergi"
+    };
+    private static final String[] LAST_NAMES = {
+            "Alba", "Bonmati", "Busquets", "Caldentey", "Fati", "Garcia", "Griezmann", "Guijarro", "Hermoso",
+            "Messi", "Paredes", "Pique", "Puig", "Putellas", "Roberto", "Stegen", "Torrejon", "Vicente", "Pina", "Leon"
+    };
+    private static final String[] POSITIONS = {
+            "GK", "CB", "LB", "RB", "CDM", "CM", "CAM", "LM", "RM", "LF", "RF", "CF", "ST"
+    };
+    /** Cumulative percentage of players whose main position is {@code POSITIONS[i]} or earlier. */
+    private static final int[] POSITION_WEIGHTS = {
+            10, 30, 38, 46, 54, 66, 74, 78, 82, 86, 90, 95, 100
+    };
+
+    private static final double MALE_RATIO = 0.6;
+    private static final double MEAN_AGE = 25.0;
+    private static final double AGE_DEVIATION = 4.5;
+    private static final int MIN_AGE = 16;
+    private static final int MAX_AGE = 40;
+
+    private final long seed;
+
+    public RosterGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the player at the given index of this generator's roster.
+     */
+    public Footballer footballer(long index) {
+        SplittableRandom random = new SplittableRandom(mix64(seed + index * GOLDEN_GAMMA));
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Gender gender = random.nextDouble() < MALE_RATIO ? Gender.MALE : Gender.FEMALE;
+        return new Footballer(name, age(random), gender, positions(random));
+    }
+
+    public Stream<Footballer> stream(long count) {
+        return StreamSupport.stream(spliterator(count), false);
+    }
+
+    public Stream<Footballer> parallelStream(long count) {
+        return StreamSupport.stream(spliterator(count), true);
+    }
+
+    public Spliterator<Footballer> spliterator(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative roster size: " + count);
+        }
+        return new RosterSpliterator(0, count);
+    }
+
+    private static int age(SplittableRandom random) {
+        // Box-Muller transform: a normal distribution around MEAN_AGE, clamped to a playing career
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        long age = Math.round(MEAN_AGE + gaussian * AGE_DEVIATION);
+        return (int) Math.max(MIN_AGE, Math.min(MAX_AGE, age));
+    }
+
+    private static List<String> positions(SplittableRandom random) {
+        String main = position(random);
+        List<String> positions = new ArrayList<>(3);
+        positions.add(main);
+        if (main.equals("GK")) {
+            return positions;
+        }
+        for (double chance = 0.5; positions.size() < 3 && random.nextDouble() < chance; chance -= 0.3) {
+            String other = position(random);
+            if (!other.equals("GK") && !positions.contains(other)) {
+                positions.add(other);
+            }
+        }
+        return positions;
+    }
+
+    private static String position(SplittableRandom random) {
+        int percentile = random.nextInt(100);
+        int i = 0;
+        while (percentile >= POSITION_WEIGHTS[i]) {
+            i++;
+        }
+        return POSITIONS[i];
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private final class RosterSpliterator implements Spliterator<Footballer> {
+
+        private long index;
+        private final long end;
+
+        RosterSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Footballer> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(footballer(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Footballer> action) {
+            for (long i = index; i < end; i++) {
+                action.accept(footballer(i));
+            }
+            index = end;
+        }
+
+        @Override
+        public Spliterator<Footballer> trySplit() {
+            long mid = (index + end) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<Footballer> prefix = new RosterSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package data;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout shared by the flat roster formats. Every player is a fixed width record; names and position names
+ * live in a side string table of length prefixed UTF-8 entries, and the ordered position codes of each player in a
+ * byte array addressed by {@code POSITION_START}.
+ * <pre>
+ * record:  0 name offset (int)   4 age (int)   8 gender ordinal (byte)   9 position count (byte)
+ *         12 position start (int)   16 position mask (long)
+ * </pre>
+ */
+final class RosterLayout {
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int NAME_OFFSET = 0;
+    static final int AGE = 4;
+    static final int GENDER = 8;
+    static final int POSITION_COUNT = 9;
+    static final int POSITION_START = 12;
+    static final int POSITION_MASK = 16;
+    static final int RECORD_SIZE = 24;
+
+    static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private RosterLayout() {
+    }
+}
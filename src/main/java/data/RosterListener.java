@@ -0,0 +1,18 @@
+package data;
+
+/**
+ * Receives the changes made to a {@link Roster}. Ageing notifications arrive concurrently from whichever threads
+ * call {@link Footballer#increaseAge()}, so implementations must be thread-safe, and they must not modify the roster
+ * they listen to.
+ */
+public interface RosterListener {
+
+    default void added(Footballer footballer) {
+    }
+
+    default void removed(Footballer footballer) {
+    }
+
+    default void ageChanged(Footballer footballer, int oldAge, int newAge) {
+    }
+}
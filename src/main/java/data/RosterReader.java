@@ -0,0 +1,479 @@
+package data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming reader for roster files, one player per line, in either format:
+ * <pre>
+ * CSV:    Messi,32,MALE,CF|CAM|RF
+ * NDJSON: {"name":"Messi","age":32,"gender":"MALE","positions":["CF","CAM","RF"]}
+ * </pre>
+ * CSV fields are not quoted and a header line is skipped. The file is read through a fixed size buffer and fields
+ * are parsed in place from the bytes: ages and genders never become Strings, and positions are interned straight
+ * from their bytes, so the name is the only String created per player.
+ * <p>
+ * {@link #read(Path, int)} splits the file into byte ranges aligned on line boundaries, parses each range into its
+ * own {@link FootballerStore} on the common fork-join pool and appends them in file order.
+ */
+public class RosterReader {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final Gender[] GENDERS = Gender.values();
+    private static final byte[][] GENDER_NAMES = Arrays.stream(GENDERS)
+            .map(gender -> gender.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+
+    private final Format format;
+
+    public RosterReader(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Streams every player of the file to {@code action}, holding no more than one buffer of the file in memory.
+     */
+    public void forEach(Path file, Consumer<? super Footballer> action) throws IOException {
+        PositionDictionary dictionary = new PositionDictionary();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            parse(channel, 0, Long.MAX_VALUE, dictionary, record -> {
+                List<String> positions = new ArrayList<>(record.positionCount);
+                for (int i = 0; i < record.positionCount; i++) {
+                    positions.add(dictionary.position(record.positions[i]));
+                }
+                action.accept(new Footballer(record.name, record.age, record.gender, positions));
+            });
+        }
+    }
+
+    public FootballerStore read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readRange(channel, 0, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Reads the file into a store using up to {@code parallelism} chunks parsed in parallel.
+     */
+    public FootballerStore read(Path file, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1, Math.min(parallelism, size / MIN_CHUNK_SIZE));
+            List<FootballerStore> parts;
+            try {
+                parts = IntStream.range(0, chunks)
+                        .parallel()
+                        .mapToObj(chunk -> {
+                            try {
+                                long start = lineStart(channel, size * chunk / chunks);
+                                long end = lineStart(channel, size * (chunk + 1) / chunks);
+                                return readRange(channel, start, end);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            FootballerStore store = new FootballerStore(parts.stream().mapToInt(FootballerStore::size).sum());
+            parts.forEach(store::addAll);
+            return store;
+        }
+    }
+
+    private FootballerStore readRange(FileChannel channel, long start, long end) throws IOException {
+        FootballerStore store = new FootballerStore();
+        parse(channel, start, end, store.dictionary(),
+                record -> store.add(record.name, record.age, record.gender, record.positions, record.positionCount));
+        return store;
+    }
+
+    /**
+     * Returns the offset of the first line starting at or after {@code offset}.
+     */
+    private static long lineStart(FileChannel channel, long offset) throws IOException {
+        if (offset == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = offset - 1;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Parses every line starting in {@code [start, end)}; {@code start} must be the start of a line.
+     */
+    private void parse(FileChannel channel, long start, long end, PositionDictionary dictionary,
+                       Consumer<Record> sink) throws IOException {
+        LineParser parser = format == Format.CSV ? new CsvParser(dictionary) : new JsonParser(dictionary);
+        byte[] bytes = new byte[BUFFER_SIZE];
+        long bufferOffset = start;
+        int limit = 0;
+        int line = 0;
+        int scan = 0;
+        boolean eof = false;
+        while (bufferOffset + line < end) {
+            int newline = indexOf(bytes, scan, limit, (byte) '\n');
+            if (newline < 0 && !eof) {
+                if (line > 0) {
+                    System.arraycopy(bytes, line, bytes, 0, limit - line);
+                    bufferOffset += line;
+                    limit -= line;
+                    line = 0;
+                } else if (limit == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                scan = limit;
+                int read = channel.read(ByteBuffer.wrap(bytes, limit, bytes.length - limit), bufferOffset + limit);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    limit += read;
+                }
+                continue;
+            }
+            int lineEnd = newline < 0 ? limit : newline;
+            int contentEnd = lineEnd > line && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > line) {
+                boolean parsed;
+                try {
+                    parsed = parser.parse(bytes, line, contentEnd, bufferOffset + line == 0);
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    throw new IllegalArgumentException("Malformed record at byte " + (bufferOffset + line) + ": "
+                            + new String(bytes, line, contentEnd - line, StandardCharsets.UTF_8), e);
+                }
+                if (parsed) {
+                    sink.accept(parser.record());
+                }
+            }
+            if (newline < 0) {
+                break;
+            }
+            line = newline + 1;
+            scan = line;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseInt(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = i < to && bytes[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == to) {
+            throw new NumberFormatException("Empty number");
+        }
+        int value = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static Gender parseGender(byte[] bytes, int from, int to) {
+        for (int g = 0; g < GENDERS.length; g++) {
+            if (Arrays.equals(GENDER_NAMES[g], 0, GENDER_NAMES[g].length, bytes, from, to)) {
+                return GENDERS[g];
+            }
+        }
+        throw new IllegalArgumentException("Unknown gender");
+    }
+
+    /**
+     * Reused scratch space for the fields of the line being parsed.
+     */
+    private static final class Record {
+
+        private String name;
+        private int age;
+        private Gender gender;
+        private int[] positions = new int[8];
+        private int positionCount;
+
+        void addPosition(int code) {
+            if (positionCount == positions.length) {
+                positions = Arrays.copyOf(positions, positionCount * 2);
+            }
+            positions[positionCount++] = code;
+        }
+    }
+
+    private abstract static class LineParser {
+
+        final PositionDictionary dictionary;
+        final Record record = new Record();
+
+        LineParser(PositionDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        Record record() {
+            return record;
+        }
+
+        /**
+         * Parses {@code bytes[from, to)} into {@link #record()}, returning false for lines that hold no player.
+         */
+        abstract boolean parse(byte[] bytes, int from, int to, boolean firstLine);
+    }
+
+    private static final class CsvParser extends LineParser {
+
+        CsvParser(PositionDictionary dictionary) {
+            super(dictionary);
+        }
+
+        @Override
+        boolean parse(byte[] bytes, int from, int to, boolean firstLine) {
+            int nameEnd = indexOf(bytes, from, to, (byte) ',');
+            int ageEnd = indexOf(bytes, nameEnd + 1, to, (byte) ',');
+            int genderEnd = indexOf(bytes, ageEnd + 1, to, (byte) ',');
+            if (nameEnd < 0 || ageEnd < 0 || genderEnd < 0) {
+                throw new IllegalArgumentException("Expected 4 fields");
+            }
+            if (firstLine && (ageEnd == nameEnd + 1 || bytes[nameEnd + 1] < '0' || bytes[nameEnd + 1] > '9')) {
+                return false;
+            }
+            record.name = new String(bytes, from, nameEnd - from, StandardCharsets.UTF_8);
+            record.age = parseInt(bytes, nameEnd + 1, ageEnd);
+            record.gender = parseGender(bytes, ageEnd + 1, genderEnd);
+            record.positionCount = 0;
+            int position = genderEnd + 1;
+            while (position < to) {
+                int positionEnd = indexOf(bytes, position, to, (byte) '|');
+                positionEnd = positionEnd < 0 ? to : positionEnd;
+                if (positionEnd > position) {
+                    record.addPosition(dictionary.code(bytes, position, positionEnd - position));
+                }
+                position = positionEnd + 1;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Parser for flat JSON objects holding the four player fields; other keys with scalar values are ignored.
+     */
+    private static final class JsonParser extends LineParser {
+
+        private byte[] bytes;
+        private int position;
+        private int end;
+        private int stringStart;
+        private int stringEnd;
+        private boolean escaped;
+
+        JsonParser(PositionDictionary dictionary) {
+            super(dictionary);
+        }
+
+        @Override
+        boolean parse(byte[] bytes, int from, int to, boolean firstLine) {
+            this.bytes = bytes;
+            this.position = from;
+            this.end = to;
+            record.name = null;
+            record.gender = null;
+            record.age = Integer.MIN_VALUE;
+            record.positionCount = 0;
+
+            expect('{');
+            if (peek() == '}') {
+                throw new IllegalArgumentException("Empty object");
+            }
+            do {
+                string();
+                int keyStart = stringStart;
+                int keyLength = stringEnd - stringStart;
+                expect(':');
+                if (key(keyStart, keyLength, "name")) {
+                    string();
+                    record.name = stringValue();
+                } else if (key(keyStart, keyLength, "age")) {
+                    skipWhitespace();
+                    int numberStart = position;
+                    while (position < end && (bytes[position] == '-' || (bytes[position] >= '0' && bytes[position] <= '9'))) {
+                        position++;
+                    }
+                    record.age = parseInt(bytes, numberStart, position);
+                } else if (key(keyStart, keyLength, "gender")) {
+                    string();
+                    record.gender = escaped ? Gender.valueOf(stringValue()) : parseGender(bytes, stringStart, stringEnd);
+                } else if (key(keyStart, keyLength, "positions")) {
+                    expect('[');
+                    if (peek() == ']') {
+                        position++;
+                    } else {
+                        do {
+                            string();
+                            record.addPosition(escaped
+                                    ? dictionary.code(stringValue())
+                                    : dictionary.code(bytes, stringStart, stringEnd - stringStart));
+                        } while (next() == ',');
+                        if (bytes[position - 1] != ']') {
+                            throw new IllegalArgumentException("Expected ]");
+                        }
+                    }
+                } else {
+                    skipScalar();
+                }
+            } while (next() == ',');
+            if (bytes[position - 1] != '}') {
+                throw new IllegalArgumentException("Expected }");
+            }
+            if (record.name == null || record.gender == null || record.age == Integer.MIN_VALUE) {
+                throw new IllegalArgumentException("Missing name, age or gender");
+            }
+            return true;
+        }
+
+        private boolean key(int start, int length, String key) {
+            if (length != key.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[start + i] != key.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void string() {
+            expect('"');
+            stringStart = position;
+            escaped = false;
+            while (position < end && bytes[position] != '"') {
+                if (bytes[position] == '\\') {
+                    escaped = true;
+                    position++;
+                }
+                position++;
+            }
+            if (position >= end) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            stringEnd = position++;
+        }
+
+        private String stringValue() {
+            String raw = new String(bytes, stringStart, stringEnd - stringStart, StandardCharsets.UTF_8);
+            return escaped ? unescape(raw) : raw;
+        }
+
+        private void skipScalar() {
+            skipWhitespace();
+            if (peek() == '"') {
+                string();
+                return;
+            }
+            while (position < end && bytes[position] != ',' && bytes[position] != '}') {
+                if (bytes[position] == '{' || bytes[position] == '[') {
+                    throw new IllegalArgumentException("Nested values are not supported");
+                }
+                position++;
+            }
+        }
+
+        private byte next() {
+            skipWhitespace();
+            if (position >= end) {
+                throw new IllegalArgumentException("Unexpected end of line");
+            }
+            return bytes[position++];
+        }
+
+        private byte peek() {
+            skipWhitespace();
+            return position < end ? bytes[position] : 0;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected " + expected);
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (bytes[position] == ' ' || bytes[position] == '\t')) {
+                position++;
+            }
+        }
+
+        private static String unescape(String raw) {
+            StringBuilder value = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escape = raw.charAt(++i);
+                switch (escape) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        value.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        value.append(escape);
+                }
+            }
+            return value.toString();
+        }
+    }
+}
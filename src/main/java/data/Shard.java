@@ -0,0 +1,61 @@
+package data;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * One partition of a {@link ShardedRoster}. Every query returns a partial result that the roster merges with those
+ * of the other shards, so an implementation only ever answers for its own players, in process or over a socket.
+ */
+public interface Shard extends AutoCloseable {
+
+    void add(Footballer footballer);
+
+    int size();
+
+    long count(FootballerQuery query);
+
+    /**
+     * Number of matching players and the sum of their ages, taken from one consistent state of the shard.
+     */
+    long[] countAndAgeSum(FootballerQuery query);
+
+    /**
+     * Every matching player, in insertion order.
+     */
+    List<Footballer> list(FootballerQuery query);
+
+    /**
+     * Folds the matching players, in insertion order, into a partial result. By default the matches are fetched with
+     * {@link #list(FootballerQuery)} and folded by the caller, which is the only option when the accumulator can't
+     * travel to the shard.
+     */
+    default <U> U reduce(FootballerQuery query, U identity, BiFunction<U, ? super Footballer, U> accumulator) {
+        U result = identity;
+        for (Footballer footballer : list(query)) {
+            result = accumulator.apply(result, footballer);
+        }
+        return result;
+    }
+
+    /**
+     * Youngest matching age, or {@code Integer.MAX_VALUE} if nothing matches.
+     */
+    int minAge(FootballerQuery query);
+
+    /**
+     * Oldest matching age, or {@code Integer.MIN_VALUE} if nothing matches.
+     */
+    int maxAge(FootballerQuery query);
+
+    /**
+     * The first {@code limit} matching players ordered by the sort keys, ties in insertion order.
+     */
+    List<Footballer> first(FootballerQuery query, int limit, List<SortKey> order);
+
+    Set<String> distinctPositions(FootballerQuery query);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,96 @@
+package data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format between {@link RemoteShard} and {@link ShardServer}: every request is an opcode byte followed by its
+ * arguments, every response a status byte ({@code OK} or {@code ERROR} plus a message) followed by the result, all
+ * in {@link DataOutput} encoding.
+ */
+final class ShardProtocol {
+
+    static final byte ADD = 1;
+    static final byte SIZE = 2;
+    static final byte COUNT = 3;
+    static final byte COUNT_AND_AGE_SUM = 4;
+    static final byte MIN_AGE = 5;
+    static final byte MAX_AGE = 6;
+    static final byte FIRST = 7;
+    static final byte DISTINCT_POSITIONS = 8;
+    static final byte CLOSE = 9;
+    static final byte LIST = 10;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final SortKey[] SORT_KEYS = SortKey.values();
+
+    private ShardProtocol() {
+    }
+
+    static void writeFootballer(DataOutput out, Footballer footballer) throws IOException {
+        out.writeUTF(footballer.getName());
+        out.writeInt(footballer.getAge());
+        out.writeByte(footballer.getGender().ordinal());
+        writeStrings(out, footballer.getPositions());
+    }
+
+    static Footballer readFootballer(DataInput in) throws IOException {
+        return new Footballer(in.readUTF(), in.readInt(), GENDERS[in.readByte()], readStrings(in));
+    }
+
+    static void writeFootballers(DataOutput out, List<Footballer> footballers) throws IOException {
+        out.writeInt(footballers.size());
+        for (Footballer footballer : footballers) {
+            writeFootballer(out, footballer);
+        }
+    }
+
+    static List<Footballer> readFootballers(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Footballer> footballers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            footballers.add(readFootballer(in));
+        }
+        return footballers;
+    }
+
+    static void writeStrings(DataOutput out, Iterable<String> values) throws IOException {
+        List<String> list = new ArrayList<>();
+        values.forEach(list::add);
+        out.writeInt(list.size());
+        for (String value : list) {
+            out.writeUTF(value);
+        }
+    }
+
+    static List<String> readStrings(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    static void writeOrder(DataOutput out, List<SortKey> order) throws IOException {
+        out.writeByte(order.size());
+        for (SortKey key : order) {
+            out.writeByte(key.ordinal());
+        }
+    }
+
+    static List<SortKey> readOrder(DataInput in) throws IOException {
+        int size = in.readByte();
+        List<SortKey> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            order.add(SORT_KEYS[in.readByte()]);
+        }
+        return order;
+    }
+}
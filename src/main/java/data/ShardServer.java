@@ -0,0 +1,179 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Serves a {@link LocalShard} on a loopback port, one client connection at a time, for {@link RemoteShard}. Run as
+ * {@code java data.ShardServer}: it prints the port it listens on as its first line of output and exits when its
+ * client sends {@code CLOSE} or stdin is closed.
+ */
+public class ShardServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final LocalShard shard = new LocalShard();
+    private volatile boolean closed;
+
+    public ShardServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String[] args) throws IOException {
+        ShardServer server = new ShardServer();
+        Thread watchdog = new Thread(() -> {
+            try {
+                while (System.in.read() >= 0) {
+                    // parent still alive
+                }
+            } catch (IOException ignored) {
+                // parent gone
+            }
+            server.close();
+        }, "shard-server-stdin");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        System.out.println(server.port());
+        System.out.flush();
+        try {
+            server.serve();
+        } finally {
+            server.close();
+        }
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Serves clients until {@link #close()}.
+     */
+    public void serve() {
+        while (!closed) {
+            try (Socket socket = serverSocket.accept()) {
+                socket.setTcpNoDelay(true);
+                handle(new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+            } catch (IOException e) {
+                if (!closed) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves on a daemon thread; for tests and for running several shards inside one JVM.
+     */
+    public ShardServer start() {
+        Thread thread = new Thread(this::serve, "shard-server-" + port());
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    private void handle(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte op;
+            try {
+                op = in.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+            if (op == ShardProtocol.CLOSE) {
+                out.writeByte(ShardProtocol.OK);
+                out.flush();
+                close();
+                return;
+            }
+            try {
+                respond(op, in, out);
+            } catch (RuntimeException e) {
+                out.writeByte(ShardProtocol.ERROR);
+                out.writeUTF(String.valueOf(e.getMessage()));
+            }
+            out.flush();
+        }
+    }
+
+    private void respond(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case ShardProtocol.ADD: {
+                Footballer footballer = ShardProtocol.readFootballer(in);
+                shard.add(footballer);
+                out.writeByte(ShardProtocol.OK);
+                break;
+            }
+            case ShardProtocol.SIZE:
+                out.writeByte(ShardProtocol.OK);
+                out.writeInt(shard.size());
+                break;
+            case ShardProtocol.COUNT: {
+                long count = shard.count(FootballerQuery.readFrom(in));
+                out.writeByte(ShardProtocol.OK);
+                out.writeLong(count);
+                break;
+            }
+            case ShardProtocol.COUNT_AND_AGE_SUM: {
+                long[] countAndSum = shard.countAndAgeSum(FootballerQuery.readFrom(in));
+                out.writeByte(ShardProtocol.OK);
+                out.writeLong(countAndSum[0]);
+                out.writeLong(countAndSum[1]);
+                break;
+            }
+            case ShardProtocol.LIST: {
+                List<Footballer> matches = shard.list(FootballerQuery.readFrom(in));
+                out.writeByte(ShardProtocol.OK);
+                ShardProtocol.writeFootballers(out, matches);
+                break;
+            }
+            case ShardProtocol.MIN_AGE: {
+                int min = shard.minAge(FootballerQuery.readFrom(in));
+                out.writeByte(ShardProtocol.OK);
+                out.writeInt(min);
+                break;
+            }
+            case ShardProtocol.MAX_AGE: {
+                int max = shard.maxAge(FootballerQuery.readFrom(in));
+                out.writeByte(ShardProtocol.OK);
+                out.writeInt(max);
+                break;
+            }
+            case ShardProtocol.FIRST: {
+                FootballerQuery query = FootballerQuery.readFrom(in);
+                int limit = in.readInt();
+                List<Footballer> first = shard.first(query, limit, ShardProtocol.readOrder(in));
+                out.writeByte(ShardProtocol.OK);
+                ShardProtocol.writeFootballers(out, first);
+                break;
+            }
+            case ShardProtocol.DISTINCT_POSITIONS: {
+                List<String> positions = List.copyOf(shard.distinctPositions(FootballerQuery.readFrom(in)));
+                out.writeByte(ShardProtocol.OK);
+                ShardProtocol.writeStrings(out, positions);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown opcode: " + op);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Players hash-partitioned by name across {@link Shard}s, queried scatter/gather: each query runs on every shard as
+ * a fork-join task and the partial results are merged, counts and sums by adding, min/max by comparing, top-K by
+ * re-ranking the shards' own top-K, lists by concatenation, distinct positions by union and reductions with the
+ * caller's combiner.
+ * <p>
+ * Shards run on the roster's own pool, one thread per shard, since remote shards block on their sockets. Players
+ * that compare equal come back in shard order rather than insertion order. Closing the roster closes its shards.
+ */
+public class ShardedRoster implements AutoCloseable {
+
+    private final List<Shard> shards;
+    private final ForkJoinPool pool;
+
+    public ShardedRoster(List<? extends Shard> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No shards");
+        }
+        this.shards = List.copyOf(shards);
+        this.pool = new ForkJoinPool(shards.size());
+    }
+
+    public static ShardedRoster local(int shards) {
+        List<Shard> local = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            local.add(new LocalShard());
+        }
+        return new ShardedRoster(local);
+    }
+
+    /**
+     * Runs every shard in its own child JVM, for trying out multi-node layouts on one machine.
+     */
+    public static ShardedRoster spawn(int shards) throws IOException {
+        List<Shard> remote = new ArrayList<>(shards);
+        try {
+            for (int i = 0; i < shards; i++) {
+                remote.add(RemoteShard.spawn());
+            }
+        } catch (IOException | RuntimeException e) {
+            remote.forEach(Shard::close);
+            throw e;
+        }
+        return new ShardedRoster(remote);
+    }
+
+    public int shards() {
+        return shards.size();
+    }
+
+    public void add(Footballer footballer) {
+        shards.get(shardOf(footballer.getName())).add(footballer);
+    }
+
+    public void addAll(Iterable<Footballer> footballers) {
+        footballers.forEach(this::add);
+    }
+
+    public int size() {
+        return gather(Shard::size, Integer::sum);
+    }
+
+    public long count(FootballerQuery query) {
+        return gather(shard -> shard.count(query), Long::sum);
+    }
+
+    public OptionalInt minAge(FootballerQuery query) {
+        int min = gather(shard -> shard.minAge(query), Math::min);
+        return min == Integer.MAX_VALUE ? OptionalInt.empty() : OptionalInt.of(min);
+    }
+
+    public OptionalInt maxAge(FootballerQuery query) {
+        int max = gather(shard -> shard.maxAge(query), Math::max);
+        return max == Integer.MIN_VALUE ? OptionalInt.empty() : OptionalInt.of(max);
+    }
+
+    public OptionalDouble averageAge(FootballerQuery query) {
+        long[] countAndSum = gather(shard -> shard.countAndAgeSum(query), (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+        return countAndSum[0] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) countAndSum[1] / countAndSum[0]);
+    }
+
+    /**
+     * Like {@code filter(query).collect(toList())}, with the players of each shard in insertion order and the shards
+     * one after another.
+     */
+    public List<Footballer> list(FootballerQuery query) {
+        return gather(shard -> shard.list(query), ShardedRoster::concat);
+    }
+
+    /**
+     * Like {@code filter(query).reduce(identity, accumulator, combiner)}: each shard's matches are folded with the
+     * accumulator, in parallel across shards, and the partial results are combined in shard order. Remote shards
+     * send their matches over, since the functions can't travel to them.
+     */
+    public <U> U reduce(FootballerQuery query, U identity, BiFunction<U, ? super Footballer, U> accumulator,
+                        BinaryOperator<U> combiner) {
+        return gather(shard -> shard.reduce(query, identity, accumulator), combiner);
+    }
+
+    /**
+     * Like {@code filter(query).sorted(order).skip(skip).limit(limit)}: every shard sends its best
+     * {@code skip + limit} players and only those are ranked again. The arguments are checked before any shard
+     * is asked.
+     */
+    public List<Footballer> page(FootballerQuery query, int skip, int limit, SortKey... order) {
+        List<SortKey> keys = List.of(order);
+        Collector<Footballer, ?, List<Footballer>> page = TopK.page(skip, limit, SortKey.comparator(keys));
+        int wanted = skip + limit;
+        List<Footballer> candidates = gather(shard -> shard.first(query, wanted, keys), ShardedRoster::concat);
+        return candidates.stream().collect(page);
+    }
+
+    public Set<String> distinctPositions(FootballerQuery query) {
+        return gather(shard -> shard.distinctPositions(query), (a, b) -> {
+            Set<String> union = new LinkedHashSet<>(a);
+            union.addAll(b);
+            return union;
+        });
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        shards.forEach(Shard::close);
+    }
+
+    private static List<Footballer> concat(List<Footballer> a, List<Footballer> b) {
+        List<Footballer> merged = new ArrayList<>(a.size() + b.size());
+        merged.addAll(a);
+        merged.addAll(b);
+        return merged;
+    }
+
+    private int shardOf(String name) {
+        int hash = name.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+
+    private <R> R gather(Function<Shard, R> query, BinaryOperator<R> merge) {
+        return pool.invoke(new Gather<>(query, merge, 0, shards.size()));
+    }
+
+    private final class Gather<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Function<Shard, R> query;
+        private final BinaryOperator<R> merge;
+        private final int from;
+        private final int to;
+
+        Gather(Function<Shard, R> query, BinaryOperator<R> merge, int from, int to) {
+            this.query = query;
+            this.merge = merge;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from == 1) {
+                return query.apply(shards.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            Gather<R> right = new Gather<>(query, merge, middle, to);
+            right.fork();
+            R left = new Gather<>(query, merge, from, middle).compute();
+            return merge.apply(left, right.join());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package data;
+
+/**
+ * 64 bit hash for the sketches: FNV-1a over the UTF-16 chars, then the MurmurHash3 finalizer so that every output bit
+ * depends on every input bit. {@link String#hashCode()} has only 32 bits and too little avalanche for HyperLogLog.
+ */
+final class SketchHash {
+
+    private SketchHash() {
+    }
+
+    static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
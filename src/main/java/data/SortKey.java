@@ -0,0 +1,39 @@
+package data;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Footballer fields a query result can be ordered by. Unlike a comparator lambda, a list of sort keys has value
+ * equality, so it can be part of a cache key.
+ */
+public enum SortKey {
+
+    GENDER(Comparator.comparing(Footballer::getGender)),
+    NAME(Comparator.comparing(Footballer::getName)),
+    AGE(Comparator.comparingInt(Footballer::getAge));
+
+    private final Comparator<Footballer> comparator;
+
+    SortKey(Comparator<Footballer> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<Footballer> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Orders by the first key, then by the next ones to break ties.
+     */
+    public static Comparator<Footballer> comparator(List<SortKey> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("No sort keys");
+        }
+        Comparator<Footballer> comparator = keys.get(0).comparator;
+        for (int i = 1; i < keys.size(); i++) {
+            comparator = comparator.thenComparing(keys.get(i).comparator);
+        }
+        return comparator;
+    }
+}
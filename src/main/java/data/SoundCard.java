@@ -2,15 +2,41 @@ package data;
 
 import java.util.Optional;
 
+/**
+ * A sound card built with {@code new SoundCard()} creates its USB port on first access only; concurrent first
+ * accesses still create exactly one.
+ */
 public class SoundCard {
 
-    private Optional<USB> usb;
+    private static final USB PENDING = new USB();
+
+    private final Object lock = new Object();
+
+    private volatile USB usb;
 
     public SoundCard(){
-        this.usb = Optional.of(new USB());
+        this.usb = PENDING;
+    }
+
+    public SoundCard(USB usb) {
+        this.usb = usb;
     }
+
     public Optional<USB> getUSB() {
-        return this.usb;
+        return Optional.ofNullable(usbOrNull());
+    }
+
+    USB usbOrNull() {
+        USB current = this.usb;
+        if (current == PENDING) {
+            synchronized (lock) {
+                current = this.usb;
+                if (current == PENDING) {
+                    this.usb = current = new USB();
+                }
+            }
+        }
+        return current;
     }
 
 }
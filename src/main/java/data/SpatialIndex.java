@@ -0,0 +1,37 @@
+package data;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Range and nearest neighbour queries over points. Coordinates are inclusive and distances Euclidean.
+ */
+public interface SpatialIndex<P extends Point> {
+
+    void insert(P point);
+
+    /**
+     * Removes one indexed point equal to the given one.
+     */
+    boolean remove(P point);
+
+    int size();
+
+    default List<P> range(int minX, int minY, int maxX, int maxY) {
+        return range(minX, minY, maxX, maxY, point -> true);
+    }
+
+    /**
+     * Returns the points inside the rectangle that match the filter, e.g. {@code p -> p.getColor().equals(RED)}.
+     */
+    List<P> range(int minX, int minY, int maxX, int maxY, Predicate<? super P> filter);
+
+    default List<P> nearest(int x, int y, int k) {
+        return nearest(x, y, k, point -> true);
+    }
+
+    /**
+     * Returns the {@code k} points matching the filter closest to (x, y), closest first.
+     */
+    List<P> nearest(int x, int y, int k, Predicate<? super P> filter);
+}
@@ -0,0 +1,112 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * Collectors equivalent to {@code sorted(comparator).skip(skip).limit(limit)} that keep only the best
+ * {@code skip + limit} elements in a bounded heap instead of sorting the whole stream: O(n log k) time and O(k)
+ * memory. Parallel streams fill one heap per thread and merge them in the combiner.
+ * <p>
+ * Like {@code sorted()}, the result is stable: elements that compare equal keep their encounter order, also when the
+ * stream is parallel.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Same as {@code sorted(comparator).limit(limit)}.
+     */
+    public static <T> Collector<T, ?, List<T>> first(int limit, Comparator<? super T> comparator) {
+        return page(0, limit, comparator);
+    }
+
+    /**
+     * Same as {@code sorted(comparator).skip(skip).limit(limit)}.
+     */
+    public static <T> Collector<T, ?, List<T>> page(int skip, int limit, Comparator<? super T> comparator) {
+        if (skip < 0 || limit < 0) {
+            throw new IllegalArgumentException("Negative skip or limit: " + skip + ", " + limit);
+        }
+        if ((long) skip + limit > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Page too large: " + skip + " + " + limit);
+        }
+        return Collector.of(
+                () -> new Heap<T>(skip + limit, comparator),
+                Heap::add,
+                Heap::merge,
+                heap -> heap.page(skip));
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private long sequence;
+
+        Entry(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Heap<T> {
+
+        private final int capacity;
+        private final Comparator<? super T> comparator;
+        private final Comparator<Entry<T>> order;
+        private final PriorityQueue<Entry<T>> worstFirst;
+        private long seen;
+
+        Heap(int capacity, Comparator<? super T> comparator) {
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.order = Comparator.<Entry<T>, T>comparing(entry -> entry.value, comparator)
+                    .thenComparingLong(entry -> entry.sequence);
+            this.worstFirst = new PriorityQueue<>(Math.min(capacity, 1024) + 1, order.reversed());
+        }
+
+        void add(T value) {
+            long sequence = seen++;
+            if (worstFirst.size() < capacity) {
+                worstFirst.add(new Entry<>(value, sequence));
+            } else if (capacity > 0 && comparator.compare(value, worstFirst.peek().value) < 0) {
+                // ties lose: an equal element seen later sorts after the one already kept
+                worstFirst.poll();
+                worstFirst.add(new Entry<>(value, sequence));
+            }
+        }
+
+        Heap<T> merge(Heap<T> later) {
+            for (Entry<T> entry : later.worstFirst) {
+                entry.sequence += seen;
+                if (worstFirst.size() < capacity) {
+                    worstFirst.add(entry);
+                } else if (capacity > 0 && order.compare(entry, worstFirst.peek()) < 0) {
+                    worstFirst.poll();
+                    worstFirst.add(entry);
+                }
+            }
+            seen += later.seen;
+            return this;
+        }
+
+        List<T> page(int skip) {
+            if (worstFirst.size() <= skip) {
+                return Collections.emptyList();
+            }
+            List<Entry<T>> entries = new ArrayList<>(worstFirst);
+            entries.sort(order);
+            List<T> page = new ArrayList<>(entries.size() - skip);
+            for (int i = skip; i < entries.size(); i++) {
+                page.add(entries.get(i).value);
+            }
+            return page;
+        }
+    }
+}
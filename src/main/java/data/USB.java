@@ -1,7 +1,38 @@
 package data;
 
+import java.util.Objects;
+
 public class USB {
+
+    private static final int MAX_CACHED_VERSIONS = 256;
+
+    private static final DerivedValueCache<String, String> VERSIONS = new DerivedValueCache<>(USB::describe, MAX_CACHED_VERSIONS);
+
+    private final String firmware;
+
+    public USB() {
+        this("0.1");
+    }
+
+    public USB(String firmware) {
+        this.firmware = Objects.requireNonNull(firmware, "firmware");
+    }
+
+    /**
+     * Derived from the firmware once and shared by every USB port with the same firmware; see {@link #versionCache()}.
+     */
     public String getVersion(){
-        return "version 0.1";
+        return VERSIONS.get(firmware);
+    }
+
+    /**
+     * The cache behind {@link #getVersion()}, keyed by firmware, e.g. to invalidate it after a firmware update.
+     */
+    public static DerivedValueCache<String, String> versionCache() {
+        return VERSIONS;
+    }
+
+    private static String describe(String firmware) {
+        return "version " + firmware;
     }
 }
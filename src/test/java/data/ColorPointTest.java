@@ -0,0 +1,50 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+public class ColorPointTest {
+
+    @Test
+    public void colorsAreComparedByValue() {
+        ColorPoint red = new ColorPoint(1, 2, Color.RED);
+        ColorPoint alsoRed = new ColorPoint(1, 2, new Color(255, 0, 0));
+
+        Assertions.assertEquals(red, alsoRed);
+        Assertions.assertNotEquals(red, new ColorPoint(1, 2, new Color(255, 0, 0, 128)));
+        Assertions.assertEquals(red, new ColorPoint(1, 2, 0xFFFF0000));
+    }
+
+    @Test
+    public void equalsKeepsItsAsymmetryWithPoint() {
+        Point p = new Point(1, 2);
+        ColorPoint cp = new ColorPoint(1, 2, Color.RED);
+
+        Assertions.assertTrue(p.equals(cp));
+        Assertions.assertFalse(cp.equals(p));
+    }
+
+    @Test
+    public void getColorReturnsASharedInstance() {
+        ColorPoint translucent = new ColorPoint(0, 0, new Color(10, 20, 30, 40));
+
+        Assertions.assertSame(translucent.getColor(), new ColorPoint(5, 5, translucent.getArgb()).getColor());
+        Assertions.assertEquals(40, translucent.getColor().getAlpha());
+    }
+
+    @Test
+    public void store() {
+        ColorPointStore store = new ColorPointStore(1);
+        store.add(new ColorPoint(1, 1, Color.RED));
+        store.add(2, 2, Color.BLUE);
+        store.add(9, 9, Color.RED.getRGB());
+
+        Assertions.assertEquals(3, store.size());
+        Assertions.assertEquals(2, store.count(Color.RED));
+        Assertions.assertArrayEquals(new int[]{0}, store.select(0, 0, 5, 5, Color.RED.getRGB()));
+        Assertions.assertEquals(new ColorPoint(2, 2, Color.BLUE), store.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+    }
+}
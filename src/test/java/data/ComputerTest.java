@@ -0,0 +1,91 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ComputerTest {
+
+    @Test
+    public void concurrentFirstAccessCreatesOneSoundCardAndOneUsb() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            Computer computer = new Computer();
+            Set<Object> devices = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int thread = 0; thread < 4; thread++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    SoundCard soundCard = computer.getSoundCard().get();
+                    devices.add(soundCard);
+                    devices.add(soundCard.getUSB().get());
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            Assertions.assertEquals(2, devices.size());
+        }
+    }
+
+    @Test
+    public void explicitComponentsAreKept() {
+        USB usb = new USB("2.0");
+        SoundCard soundCard = new SoundCard(usb);
+
+        Assertions.assertSame(soundCard, new Computer(soundCard).getSoundCard().get());
+        Assertions.assertSame(usb, soundCard.getUSB().get());
+        Assertions.assertEquals("version 2.0", usb.getVersion());
+    }
+
+    @Test
+    public void versionCacheComputesOncePerFirmwareUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        DerivedValueCache<String, String> cache = new DerivedValueCache<>(firmware -> "version " + firmware + "#" + loads.incrementAndGet(), 16);
+
+        Assertions.assertEquals("version 3.1#1", cache.get("3.1"));
+        Assertions.assertEquals("version 3.1#1", cache.get("3.1"));
+        cache.invalidate("3.1");
+        Assertions.assertEquals("version 3.1#2", cache.get("3.1"));
+        cache.invalidateAll();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void usbVersionsAreShared() {
+        Assertions.assertSame(new USB("9.9").getVersion(), new USB("9.9").getVersion());
+
+        USB.versionCache().invalidate("9.9");
+
+        Assertions.assertEquals("version 9.9", new USB("9.9").getVersion());
+    }
+
+    @Test
+    public void versionCacheStaysBounded() {
+        DerivedValueCache<Integer, String> cache = new DerivedValueCache<>(String::valueOf, 4);
+
+        for (int firmware = 0; firmware < 100; firmware++) {
+            Assertions.assertEquals(String.valueOf(firmware), cache.get(firmware));
+            Assertions.assertTrue(cache.size() <= 4);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DerivedValueCache<Integer, String>(String::valueOf, 0));
+    }
+
+    @Test
+    public void usbRejectsNullFirmware() {
+        Assertions.assertThrows(NullPointerException.class, () -> new USB(null));
+    }
+}
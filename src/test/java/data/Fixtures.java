@@ -0,0 +1,26 @@
+package data;
+
+import java.util.List;
+
+/**
+ * The roster StreamTest works on, shared by the tests of this package. Every call returns new footballers, so tests
+ * that age or attach them don't affect each other.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<Footballer> footballers() {
+        return List.of(
+                new Footballer("Messi", 32, Gender.MALE, List.of("CF", "CAM", "RF")),
+                new Footballer("Griezmann", 28, Gender.MALE, List.of("CF", "CAM", "LF")),
+                new Footballer("Arthur", 23, Gender.MALE, List.of("CM", "CAM")),
+                new Footballer("Ter Stegen", 27, Gender.MALE, List.of("GK")),
+                new Footballer("Puig", 20, Gender.MALE, List.of("CM", "CDM")),
+                new Footballer("Jennifer", 29, Gender.FEMALE, List.of("CF", "CAM")),
+                new Footballer("Jana", 17, Gender.FEMALE, List.of("CB")),
+                new Footballer("Alexia", 25, Gender.FEMALE, List.of("CAM", "RF", "LF"))
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class FootballerIndexTest {
+
+    FootballerStore store;
+    FootballerIndex index;
+
+    @BeforeEach
+    public void init() {
+        this.store = FootballerStore.of(Fixtures.footballers());
+        this.index = new FootballerIndex(store);
+    }
+
+    @Test
+    public void filter() {
+        int[] rows = index.select(Gender.FEMALE, 24, Integer.MAX_VALUE);
+
+        Assertions.assertArrayEquals(new int[]{5, 7}, rows);
+    }
+
+    @Test
+    public void selectWalksTheGenderBitmapForWideAgeRanges() {
+        int[] rows = index.select(Gender.FEMALE, 0, 100);
+
+        Assertions.assertArrayEquals(new int[]{5, 6, 7}, rows);
+    }
+
+    @Test
+    public void selectMatchesAFullScan() {
+        for (Gender gender : Gender.values()) {
+            for (int min = 15; min < 35; min++) {
+                for (int max = min; max < 35; max++) {
+                    Assertions.assertArrayEquals(store.filter(gender, min, max), index.select(gender, min, max));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void count() {
+        Assertions.assertEquals(5, index.count(Gender.MALE));
+        Assertions.assertEquals(1, index.count(Gender.FEMALE, 26, Integer.MAX_VALUE));
+        Assertions.assertEquals(3, index.countByAge(27, 29));
+        Assertions.assertEquals(0, index.countByAge(40, 30));
+    }
+
+    @Test
+    public void isStaleOnceTheStoreGrows() {
+        Assertions.assertFalse(index.isStale());
+
+        store.add(new Footballer("Aitana", 22, Gender.FEMALE, List.of("CM")));
+
+        Assertions.assertTrue(index.isStale());
+    }
+
+    @Test
+    public void isStaleOnceTheStoreIsAged() {
+        store.ageAll();
+
+        Assertions.assertTrue(index.isStale());
+    }
+}
@@ -0,0 +1,102 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class FootballerQueryTest {
+
+    FootballerStore store;
+    List<Footballer> footballers;
+
+    @BeforeEach
+    public void init() {
+        this.footballers = Fixtures.footballers();
+        this.store = FootballerStore.of(footballers);
+    }
+
+    @Test
+    public void fusedFilter() {
+        FootballerQuery query = FootballerQuery.all().gender(Gender.FEMALE).olderThan(23);
+
+        Assertions.assertEquals(2, query.count(store));
+        Assertions.assertArrayEquals(new int[]{5, 7}, query.rows(store));
+        Assertions.assertEquals(2, query.count(footballers));
+        Assertions.assertEquals("Alexia", query.list(store).get(1).getName());
+    }
+
+    @Test
+    public void ageConditionsAreFolded() {
+        FootballerQuery query = FootballerQuery.all().olderThan(20).youngerThan(30).olderThan(24);
+
+        Assertions.assertEquals(FootballerQuery.all().ageBetween(25, 29), query);
+        Assertions.assertEquals(query.hashCode(), FootballerQuery.all().ageBetween(25, 29).hashCode());
+        Assertions.assertEquals(4, query.count(store));
+    }
+
+    @Test
+    public void contradictionsMatchNothing() {
+        Assertions.assertTrue(FootballerQuery.all().gender(Gender.MALE).gender(Gender.FEMALE).isEmpty());
+        Assertions.assertTrue(FootballerQuery.all().olderThan(30).youngerThan(20).isEmpty());
+        Assertions.assertTrue(FootballerQuery.all().named("Puig").named("Jana").isEmpty());
+        Assertions.assertTrue(FootballerQuery.all().olderThan(Integer.MAX_VALUE).isEmpty());
+        Assertions.assertTrue(FootballerQuery.all().youngerThan(Integer.MIN_VALUE).isEmpty());
+        Assertions.assertFalse(FootballerQuery.all().olderThan(Integer.MAX_VALUE - 1).isEmpty());
+        Assertions.assertEquals(0, FootballerQuery.all().plays("XX").count(store));
+    }
+
+    @Test
+    public void positions() {
+        FootballerQuery query = FootballerQuery.all().gender(Gender.MALE).plays("CAM").plays("CF");
+
+        Assertions.assertEquals(query, FootballerQuery.all().plays("CF").plays("CAM").gender(Gender.MALE));
+        Assertions.assertArrayEquals(new int[]{0, 1}, query.rows(store));
+        Assertions.assertEquals(List.of("CF", "CAM", "RF", "CF", "CAM", "LF"), query.positions(store));
+        Assertions.assertEquals(List.of("CF", "CAM", "RF", "LF"), query.distinctPositions(store));
+    }
+
+    @Test
+    public void matchesStreamPipeline() {
+        FootballerStore generated = FootballerStore.of(new RosterGenerator(7).stream(5_000).collect(Collectors.toList()));
+        FootballerQuery query = FootballerQuery.all().gender(Gender.MALE).ageBetween(21, 30).plays("ST");
+
+        long expected = IntStream.range(0, generated.size())
+                .mapToObj(generated::get)
+                .filter(f -> f.getGender() == Gender.MALE)
+                .filter(f -> f.getAge() >= 21 && f.getAge() <= 30)
+                .filter(f -> f.getPositions().contains("ST"))
+                .count();
+
+        Assertions.assertEquals(expected, query.count(generated));
+    }
+
+    @Test
+    public void named() {
+        FootballerQuery query = FootballerQuery.all().named("Jana");
+
+        Assertions.assertArrayEquals(new int[]{6}, query.rows(store));
+        Assertions.assertTrue(query.test(footballers.get(6)));
+        Assertions.assertFalse(query.test(footballers.get(5)));
+    }
+
+    @Test
+    public void playsEveryInternedPosition() {
+        FootballerStore wide = new FootballerStore();
+        List<String> positions = new ArrayList<>();
+        for (int i = 0; i < PositionDictionary.MAX_CODES; i++) {
+            positions.add("P" + i);
+        }
+        wide.add("Everywhere", 30, Gender.MALE, positions);
+        FootballerQuery query = FootballerQuery.all();
+        for (String position : positions) {
+            query = query.plays(position);
+        }
+
+        Assertions.assertEquals(1, query.count(wide));
+    }
+}
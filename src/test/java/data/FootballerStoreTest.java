@@ -0,0 +1,119 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FootballerStoreTest {
+
+    FootballerStore store;
+
+    @BeforeEach
+    public void init() {
+        this.store = FootballerStore.of(Fixtures.footballers());
+    }
+
+    @Test
+    public void filter() {
+        int[] rows = store.filter(Gender.FEMALE, 24, Integer.MAX_VALUE);
+
+        Assertions.assertEquals(2, rows.length);
+        Assertions.assertEquals("Jennifer", store.getName(rows[0]));
+        Assertions.assertEquals("Alexia", store.getName(rows[1]));
+    }
+
+    @Test
+    public void count() {
+        Assertions.assertEquals(5, store.count(Gender.MALE));
+        Assertions.assertEquals(2, store.count(Gender.FEMALE, 25, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void minAndMax() {
+        Assertions.assertEquals(17, store.minAge().getAsInt());
+        Assertions.assertEquals(32, store.maxAge().getAsInt());
+        Assertions.assertTrue(new FootballerStore().minAge().isEmpty());
+    }
+
+    @Test
+    public void primitiveAgeQueries() {
+        Assertions.assertEquals(2, store.count(Gender.FEMALE, age -> age > 24));
+        Assertions.assertEquals(17, store.minAge(Gender.FEMALE).getAsInt());
+        Assertions.assertEquals(32, store.maxAge(Gender.MALE).getAsInt());
+        Assertions.assertEquals(25.125, store.averageAge().getAsDouble(), 1e-9);
+        Assertions.assertEquals(23.666, store.averageAge(Gender.FEMALE).getAsDouble(), 1e-3);
+        Assertions.assertEquals(17, store.ages().min().getAsInt());
+        Assertions.assertEquals(130, store.ages(Gender.MALE).sum());
+        Assertions.assertTrue(store.anyAgeMatch(age -> age > 25));
+        Assertions.assertFalse(store.allAgesMatch(age -> age > 25));
+        Assertions.assertTrue(new FootballerStore().averageAge().isEmpty());
+    }
+
+    @Test
+    public void distinct() {
+        List<String> positions = store.distinctPositions(Gender.MALE, 0, 29);
+
+        Assertions.assertEquals(List.of("CF", "CAM", "LF", "CM", "GK", "CDM"), positions);
+    }
+
+    @Test
+    public void playsPosition() {
+        Assertions.assertTrue(store.plays(0, "CAM"));
+        Assertions.assertFalse(store.plays(3, "CAM"));
+        Assertions.assertFalse(store.plays(0, "RB"));
+        Assertions.assertEquals(5, store.countPlaying(List.of("CAM")));
+        Assertions.assertEquals(2, store.countPlaying(List.of("CF", "CAM", "RF").subList(1, 3)));
+        Assertions.assertEquals(0, store.countPlaying(List.of("CAM", "RB")));
+    }
+
+    @Test
+    public void dictionaryIsLimitedToMaskWidth() {
+        FootballerStore wide = new FootballerStore();
+        List<String> positions = new ArrayList<>();
+        for (int i = 0; i < PositionDictionary.MAX_CODES; i++) {
+            positions.add("P" + i);
+        }
+        wide.add("Everywhere", 30, Gender.MALE, positions);
+
+        Assertions.assertEquals(Long.MAX_VALUE, wide.getPositionMask(0));
+        Assertions.assertEquals(1, wide.countPlaying(positions));
+        Assertions.assertEquals(0, wide.countPlaying(List.of("P0", "P63")));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> wide.add("Nowhere", 30, Gender.MALE, List.of("P63")));
+    }
+
+    @Test
+    public void getMaterializesTheRow() {
+        Footballer messi = store.get(0);
+
+        Assertions.assertEquals("Messi", messi.getName());
+        Assertions.assertEquals(32, messi.getAge());
+        Assertions.assertEquals(Gender.MALE, messi.getGender());
+        Assertions.assertEquals(List.of("CF", "CAM", "RF"), messi.getPositions());
+    }
+
+    @Test
+    public void forEachReusesTheView() {
+        List<String> names = new ArrayList<>();
+        store.forEach(view -> {
+            if (view.getGender() == Gender.FEMALE) {
+                names.add(view.getName());
+            }
+        });
+
+        Assertions.assertEquals(List.of("Jennifer", "Jana", "Alexia"), names);
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        FootballerStore small = new FootballerStore(1);
+        Fixtures.footballers().forEach(small::add);
+
+        Assertions.assertEquals(8, small.size());
+        Assertions.assertEquals(List.of("CAM", "RF", "LF"), small.getPositions(7));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> small.getAge(8));
+    }
+}
@@ -0,0 +1,56 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class FootballerTest {
+
+    @Test
+    public void increaseAgeFromAParallelStreamLosesNoUpdate() {
+        Footballer messi = new Footballer("Messi", 32, Gender.MALE, List.of("CF", "CAM", "RF"));
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> messi.increaseAge());
+
+        Assertions.assertEquals(100_032, messi.getAge());
+    }
+
+    @Test
+    public void ageAllSeesTheSamePlayerManyTimes() {
+        Footballer puig = new Footballer("Puig", 20, Gender.MALE, List.of("CM", "CDM"));
+
+        Footballer.ageAll(Collections.nCopies(50_000, puig));
+
+        Assertions.assertEquals(50_020, puig.getAge());
+    }
+
+    @Test
+    public void ageWhere() {
+        List<Footballer> roster = new RosterGenerator(9).stream(100_000).collect(Collectors.toList());
+        long females = roster.stream().filter(footballer -> footballer.getGender() == Gender.FEMALE).count();
+        int ageSum = roster.stream().mapToInt(Footballer::getAge).sum();
+
+        long aged = Footballer.ageWhere(roster, footballer -> footballer.getGender() == Gender.FEMALE);
+
+        Assertions.assertEquals(females, aged);
+        Assertions.assertEquals(ageSum + females, roster.stream().mapToInt(Footballer::getAge).sum());
+    }
+
+    @Test
+    public void storeAgeing() {
+        FootballerStore store = FootballerStore.of(new RosterGenerator(9).stream(100_000).collect(Collectors.toList()));
+        int young = store.count(Gender.MALE, 0, 20);
+        int min = store.minAge().getAsInt();
+
+        store.ageAll();
+        int aged = store.ageWhere(Gender.MALE, 0, 21);
+
+        Assertions.assertEquals(min + 1, store.minAge().getAsInt());
+        Assertions.assertEquals(young, aged);
+        Assertions.assertEquals(0, store.count(Gender.MALE, 0, min));
+    }
+}
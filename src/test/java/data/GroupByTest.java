@@ -0,0 +1,68 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class GroupByTest {
+
+    FootballerStore store;
+
+    @BeforeEach
+    public void init() {
+        this.store = FootballerStore.of(Fixtures.footballers());
+    }
+
+    @Test
+    public void byGender() {
+        AgeGroups groups = GroupBy.by().gender().aggregate(store);
+
+        int female = groups.group(Gender.FEMALE, null, 0);
+        Assertions.assertEquals(3, groups.count(female));
+        Assertions.assertEquals(71, groups.ageSum(female));
+        Assertions.assertEquals(17, groups.minAge(female));
+        Assertions.assertEquals(29, groups.maxAge(female));
+        Assertions.assertEquals(5, groups.count(Gender.MALE, null, 0));
+    }
+
+    @Test
+    public void byPositionGenderAndBand() {
+        AgeGroups groups = GroupBy.by().position().gender().ageBand(5).aggregate(store);
+
+        Assertions.assertEquals(2, groups.count(Gender.FEMALE, "CAM", 26));
+        Assertions.assertEquals(1, groups.count(Gender.MALE, "CAM", 23));
+        Assertions.assertEquals(0, groups.count(Gender.FEMALE, "GK", 20));
+        Assertions.assertEquals(0, groups.count(Gender.FEMALE, "XX", 20));
+
+        List<String> visited = new ArrayList<>();
+        groups.forEach((gender, position, bandStart, count, ageSum, minAge, maxAge) -> {
+            if (position.equals("CAM")) {
+                visited.add(gender + " " + bandStart + " " + count);
+            }
+        });
+        Assertions.assertEquals(List.of("FEMALE 25 2", "MALE 20 1", "MALE 25 1", "MALE 30 1"), visited);
+    }
+
+    @Test
+    public void parallelMatchesGroupingBy() {
+        FootballerStore large = FootballerStore.of(new RosterGenerator(11).stream(200_000).collect(Collectors.toList()));
+        AgeGroups groups = GroupBy.by().position().gender().ageBand(10).aggregate(large);
+
+        Map<String, Long> expected = IntStream.range(0, large.size())
+                .mapToObj(large::get)
+                .flatMap(f -> f.getPositions().stream().map(p -> f.getGender() + " " + p + " " + f.getAge() / 10 * 10))
+                .collect(Collectors.groupingBy(key -> key, Collectors.counting()));
+
+        Map<String, Long> actual = new HashMap<>();
+        groups.forEach((gender, position, bandStart, count, ageSum, minAge, maxAge) ->
+                actual.put(gender + " " + position + " " + bandStart, count));
+        Assertions.assertEquals(expected, actual);
+    }
+}
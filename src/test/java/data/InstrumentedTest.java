@@ -0,0 +1,80 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InstrumentedTest {
+
+    MetricsRegistry registry;
+
+    @BeforeEach
+    public void init() {
+        this.registry = new MetricsRegistry();
+    }
+
+    @Test
+    public void countsPerStage() {
+        List<String> names = Instrumented.of(Fixtures.footballers().stream(), "females", registry)
+                .filter(f -> f.getGender() == Gender.FEMALE)
+                .sorted(Comparator.comparing(Footballer::getName))
+                .map(Footballer::getName)
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of("Alexia", "Jana", "Jennifer"), names);
+        MetricsRegistry.Pipeline pipeline = registry.pipeline("females");
+        List<MetricsRegistry.Stage> stages = pipeline.stages();
+        Assertions.assertEquals(3, stages.size());
+        Assertions.assertEquals("filter", stages.get(0).op());
+        Assertions.assertEquals(8, stages.get(0).in());
+        Assertions.assertEquals(3, stages.get(0).out());
+        Assertions.assertEquals(3, stages.get(1).in());
+        Assertions.assertEquals(3, stages.get(2).out());
+        Assertions.assertEquals("collect", pipeline.terminal());
+        Assertions.assertEquals(1, pipeline.runs());
+    }
+
+    @Test
+    public void flatMapCountsOutput() {
+        long distinct = Instrumented.of(Fixtures.footballers().stream(), "positions", registry)
+                .flatMap(f -> f.getPositions().stream())
+                .distinct()
+                .count();
+
+        Assertions.assertEquals(8, distinct);
+        List<MetricsRegistry.Stage> stages = registry.pipeline("positions").stages();
+        Assertions.assertEquals(8, stages.get(0).in());
+        Assertions.assertEquals(17, stages.get(0).out());
+        Assertions.assertEquals(17, stages.get(1).in());
+        Assertions.assertEquals(8, stages.get(1).out());
+    }
+
+    @Test
+    public void runsAccumulateAndDumpAsJson() {
+        for (int i = 0; i < 2; i++) {
+            Instrumented.of(Fixtures.footballers().stream(), "ages", registry).mapToInt(Footballer::getAge).sum();
+            Instrumented.of(Fixtures.footballers().stream(), "youngest", registry).limit(3).count();
+        }
+
+        String json = registry.toJson();
+
+        Assertions.assertTrue(json.startsWith("{\"pipelines\":[{\"name\":\"ages\",\"terminal\":null,\"runs\":0,"), json);
+        Assertions.assertTrue(json.contains("{\"op\":\"mapToInt\",\"in\":16,\"out\":16,"), json);
+        Assertions.assertTrue(json.contains("{\"name\":\"youngest\",\"terminal\":\"count\",\"runs\":2,"), json);
+        Assertions.assertTrue(json.contains("{\"op\":\"limit\",\"in\":6,\"out\":6,"), json);
+    }
+
+    @Test
+    public void disabledReturnsStreamItself() {
+        registry.setEnabled(false);
+        Stream<Footballer> stream = Fixtures.footballers().stream();
+
+        Assertions.assertSame(stream, Instrumented.of(stream, "off", registry));
+        Assertions.assertTrue(registry.pipelines().isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MappedRosterTest {
+
+    MappedRoster roster;
+
+    @BeforeEach
+    public void init() throws IOException {
+        Path file = Files.createTempFile("roster", ".bin");
+        file.toFile().deleteOnExit();
+        MappedRoster.write(FootballerStore.of(Fixtures.footballers()), file);
+        this.roster = MappedRoster.open(file);
+    }
+
+    @Test
+    public void filter() {
+        int[] rows = roster.filter(Gender.FEMALE, 24, Integer.MAX_VALUE);
+
+        Assertions.assertArrayEquals(new int[]{5, 7}, rows);
+        Assertions.assertEquals("Jennifer", roster.getName(rows[0]));
+    }
+
+    @Test
+    public void countMinAndMax() {
+        Assertions.assertEquals(5, roster.count(Gender.MALE));
+        Assertions.assertEquals(2, roster.count(Gender.FEMALE, 25, Integer.MAX_VALUE));
+        Assertions.assertEquals(17, roster.minAge().getAsInt());
+        Assertions.assertEquals(32, roster.maxAge().getAsInt());
+    }
+
+    @Test
+    public void distinct() {
+        Assertions.assertEquals(List.of("CF", "CAM", "LF", "CM", "GK", "CDM"), roster.distinctPositions(Gender.MALE, 0, 29));
+    }
+
+    @Test
+    public void rowsRoundTrip() {
+        List<String> expected = Fixtures.footballers().stream().map(Footballer::toString).collect(Collectors.toList());
+
+        for (int row = 0; row < roster.size(); row++) {
+            Assertions.assertEquals(expected.get(row), roster.get(row).toString());
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> roster.getAge(8));
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path file = Files.createTempFile("not-a-roster", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[64]);
+
+        Assertions.assertThrows(IOException.class, () -> MappedRoster.open(file));
+    }
+}
@@ -0,0 +1,71 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class OffHeapRosterTest {
+
+    OffHeapRoster roster;
+
+    @BeforeEach
+    public void init() {
+        this.roster = OffHeapRoster.of(Fixtures.footballers());
+    }
+
+    @Test
+    public void rows() {
+        Assertions.assertEquals(8, roster.size());
+        Assertions.assertEquals("Ter Stegen", roster.getName(3));
+        Assertions.assertEquals(25, roster.getAge(7));
+        Assertions.assertEquals(Gender.FEMALE, roster.getGender(6));
+        Assertions.assertEquals(List.of("CAM", "RF", "LF"), roster.getPositions(7));
+        Assertions.assertEquals("Messi", roster.get(0).getName());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> roster.getAge(8));
+    }
+
+    @Test
+    public void queries() {
+        Assertions.assertEquals(5, roster.count(Gender.MALE));
+        Assertions.assertEquals(2, roster.count(Gender.FEMALE, 24, Integer.MAX_VALUE));
+        Assertions.assertArrayEquals(new int[]{5, 7}, roster.filter(Gender.FEMALE, 24, Integer.MAX_VALUE));
+        Assertions.assertEquals(List.of("CF", "CAM", "LF", "CM", "GK", "CDM"), roster.distinctPositions(Gender.MALE, 0, 29));
+        Assertions.assertEquals(17, roster.minAge().getAsInt());
+        Assertions.assertEquals(32, roster.maxAge().getAsInt());
+        Assertions.assertTrue(new OffHeapRoster().minAge().isEmpty());
+    }
+
+    @Test
+    public void sortedPages() {
+        Assertions.assertArrayEquals(new int[]{7, 6, 5, 2, 1}, roster.sorted(0, 5, SortKey.GENDER, SortKey.NAME));
+        Assertions.assertArrayEquals(new int[]{0, 4, 3}, roster.sorted(5, 10, SortKey.GENDER, SortKey.NAME));
+        Assertions.assertArrayEquals(new int[]{6, 4}, roster.sorted(0, 2, SortKey.AGE));
+        Assertions.assertArrayEquals(new int[0], roster.sorted(8, 2, SortKey.AGE));
+    }
+
+    @Test
+    public void spansSegments() {
+        List<Footballer> generated = new RosterGenerator(3).stream(70_000).collect(Collectors.toList());
+        OffHeapRoster large = OffHeapRoster.of(generated);
+        FootballerStore store = FootballerStore.of(generated);
+
+        Assertions.assertEquals(store.count(Gender.FEMALE, 20, 30), large.count(Gender.FEMALE, 20, 30));
+        Assertions.assertArrayEquals(store.filter(Gender.MALE, 35, 40), large.filter(Gender.MALE, 35, 40));
+        Assertions.assertEquals(generated.get(69_999).getName(), large.getName(69_999));
+        Assertions.assertEquals(generated.get(69_999).getPositions(), large.getPositions(69_999));
+
+        int[] expected = IntStream.range(0, generated.size()).boxed()
+                .sorted(Comparator.comparing((Integer row) -> generated.get(row).getGender())
+                        .thenComparing(row -> generated.get(row).getAge()))
+                .skip(1_000)
+                .limit(100)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        Assertions.assertArrayEquals(expected, large.sorted(1_000, 100, SortKey.GENDER, SortKey.AGE));
+    }
+}
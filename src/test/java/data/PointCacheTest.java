@@ -0,0 +1,53 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+public class PointCacheTest {
+
+    @Test
+    public void smallCoordinatesAreAlwaysShared() {
+        Point first = Point.of(1, 2);
+
+        for (int i = 0; i < 1_000; i++) {
+            Point.of(i, -i);
+        }
+
+        Assertions.assertSame(first, Point.of(1, 2));
+        Assertions.assertEquals(new Point(1, 2), first);
+        Assertions.assertSame(Point.of(-128, 127), Point.of(-128, 127));
+    }
+
+    @Test
+    public void largeCoordinatesAreCachedUntilEvicted() {
+        Point far = Point.of(1_000_000, -1_000_000);
+
+        Assertions.assertSame(far, Point.of(1_000_000, -1_000_000));
+        Assertions.assertEquals(new Point(1_000_000, -1_000_000), far);
+    }
+
+    @Test
+    public void colorPointsAreKeyedByColorToo() {
+        ColorPoint red = ColorPoint.of(1, 2, Color.RED);
+
+        Assertions.assertSame(red, ColorPoint.of(1, 2, Color.RED.getRGB()));
+        Assertions.assertNotSame(red, ColorPoint.of(1, 2, Color.BLUE));
+        Assertions.assertEquals(Color.BLUE, ColorPoint.of(1, 2, Color.BLUE).getColor());
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        PointCache cache = PointCache.points();
+        cache.resetStats();
+
+        Point.of(5_000, 5_001);
+        Point.of(5_000, 5_001);
+        Point.of(5_000, 5_001);
+
+        Assertions.assertTrue(cache.hits() >= 2);
+        Assertions.assertTrue(cache.misses() <= 1);
+        Assertions.assertTrue(cache.hitRate() > 0.6);
+    }
+}
@@ -0,0 +1,83 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class PointSetTest {
+
+    @Test
+    public void equalPointsHaveEqualHashCodes() {
+        Set<Point> points = new HashSet<>();
+        points.add(new Point(1, 2));
+
+        Assertions.assertTrue(points.contains(new Point(1, 2)));
+        Assertions.assertEquals(new Point(1, 2).hashCode(), new ColorPoint(1, 2, Color.RED).hashCode());
+    }
+
+    @Test
+    public void originAndNegativeCoordinates() {
+        PointSet set = new PointSet();
+
+        Assertions.assertTrue(set.add(0, 0));
+        Assertions.assertFalse(set.add(new Point(0, 0)));
+        Assertions.assertTrue(set.add(-1, 0));
+        Assertions.assertTrue(set.add(0, -1));
+        Assertions.assertTrue(set.contains(0, 0));
+        Assertions.assertFalse(set.contains(-1, -1));
+        Assertions.assertEquals(3, set.size());
+        Assertions.assertTrue(set.remove(0, 0));
+        Assertions.assertFalse(set.contains(0, 0));
+        Assertions.assertEquals(2, set.size());
+    }
+
+    @Test
+    public void setBehavesLikeAHashSet() {
+        Random random = new Random(12);
+        PointSet set = new PointSet(4);
+        Set<Point> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            int x = random.nextInt(400) - 200;
+            int y = random.nextInt(400) - 200;
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(new Point(x, y)), set.remove(x, y));
+            } else {
+                Assertions.assertEquals(expected.add(new Point(x, y)), set.add(x, y));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), set.size());
+        Set<Point> visited = new HashSet<>();
+        set.forEach((x, y) -> visited.add(new Point(x, y)));
+        Assertions.assertEquals(expected, visited);
+    }
+
+    @Test
+    public void mapBehavesLikeAHashMap() {
+        Random random = new Random(21);
+        PointToObjectMap<String> map = new PointToObjectMap<>();
+        Map<Point, String> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            int x = random.nextInt(300) - 150;
+            int y = random.nextInt(300) - 150;
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(new Point(x, y)), map.remove(x, y));
+            } else {
+                String value = "v" + i;
+                Assertions.assertEquals(expected.put(new Point(x, y), value), map.put(x, y, value));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((point, value) -> Assertions.assertEquals(value, map.get(point)));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(1, 1, null));
+    }
+}
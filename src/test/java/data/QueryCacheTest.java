@@ -0,0 +1,99 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class QueryCacheTest {
+
+    Roster roster;
+    QueryCache cache;
+
+    @BeforeEach
+    public void init() {
+        this.roster = new Roster(Fixtures.footballers());
+        this.cache = new QueryCache(roster, 4);
+    }
+
+    @Test
+    public void repeatedQueryHitsCache() {
+        List<Footballer> first = cache.list(FootballerQuery.all().gender(Gender.FEMALE).olderThan(23));
+        List<Footballer> second = cache.list(FootballerQuery.all().olderThan(23).gender(Gender.FEMALE));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.hits());
+        Assertions.assertEquals(1, cache.misses());
+        Assertions.assertEquals(0.5, cache.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void ageChangeInvalidates() {
+        FootballerQuery query = FootballerQuery.all().gender(Gender.FEMALE).olderThan(23);
+        Assertions.assertEquals(2, cache.count(query));
+
+        roster.footballers().get(6).increaseAge();
+        Assertions.assertEquals(2, cache.count(query));
+        for (int i = 0; i < 6; i++) {
+            roster.footballers().get(6).increaseAge();
+        }
+
+        Assertions.assertEquals(3, cache.count(query));
+        Assertions.assertEquals(0, cache.hits());
+    }
+
+    @Test
+    public void insertInvalidates() {
+        FootballerQuery males = FootballerQuery.all().gender(Gender.MALE);
+        Assertions.assertEquals(5, cache.count(males));
+
+        roster.add(new Footballer("Pedri", 17, Gender.MALE, List.of("CM")));
+
+        Assertions.assertEquals(6, cache.count(males));
+    }
+
+    @Test
+    public void sortedAndFirst() {
+        List<String> sorted = cache.sorted(FootballerQuery.all(), SortKey.GENDER, SortKey.NAME).stream()
+                .map(Footballer::getName)
+                .collect(Collectors.toList());
+        List<Footballer> youngest = cache.first(FootballerQuery.all(), 2, SortKey.AGE);
+
+        Assertions.assertEquals(List.of("Alexia", "Jana", "Jennifer", "Arthur", "Griezmann", "Messi", "Puig", "Ter Stegen"), sorted);
+        Assertions.assertEquals("Jana", youngest.get(0).getName());
+        Assertions.assertEquals("Puig", youngest.get(1).getName());
+        Assertions.assertEquals(List.of("CF", "CAM", "LF", "CM", "GK", "CDM"),
+                cache.distinctPositions(FootballerQuery.all().gender(Gender.MALE).youngerThan(30)));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        FootballerQuery kept = FootballerQuery.all().gender(Gender.MALE);
+        cache.count(kept);
+        for (int age = 18; age < 22; age++) {
+            cache.count(FootballerQuery.all().olderThan(age));
+            cache.count(kept);
+        }
+
+        Assertions.assertEquals(4, cache.size());
+        Assertions.assertEquals(1, cache.evictions());
+        Assertions.assertEquals(4, cache.hits());
+    }
+
+    @Test
+    public void sortingNeedsAKey() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.sorted(FootballerQuery.all()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.first(FootballerQuery.all(), 2));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void negativeLimitIsRejectedEvenWhenSortedIsCached() {
+        cache.sorted(FootballerQuery.all(), SortKey.AGE);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.first(FootballerQuery.all(), -1, SortKey.AGE));
+        Assertions.assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,116 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RosterAggregatesTest {
+
+    Roster roster;
+    RosterAggregates aggregates;
+
+    @BeforeEach
+    public void init() {
+        this.roster = new Roster(Fixtures.footballers());
+        this.aggregates = RosterAggregates.of(roster);
+    }
+
+    @Test
+    public void count() {
+        Assertions.assertEquals(8, aggregates.size());
+        Assertions.assertEquals(5, aggregates.count(Gender.MALE));
+        Assertions.assertEquals(3, aggregates.count(Gender.FEMALE));
+    }
+
+    @Test
+    public void minAndMax() {
+        Assertions.assertEquals(17, aggregates.minAge().getAsInt());
+        Assertions.assertEquals(32, aggregates.maxAge().getAsInt());
+        Assertions.assertEquals(25, aggregates.percentileAge(50).getAsInt());
+        Assertions.assertEquals(32, aggregates.percentileAge(100).getAsInt());
+    }
+
+    @Test
+    public void positions() {
+        Assertions.assertEquals(5, aggregates.positionCount("CAM"));
+        Assertions.assertEquals(0, aggregates.positionCount("RB"));
+    }
+
+    @Test
+    public void followsAddRemoveAndIncreaseAge() {
+        Footballer jana = roster.stream().filter(footballer -> footballer.getName().equals("Jana")).findFirst().get();
+        Footballer messi = roster.stream().filter(footballer -> footballer.getName().equals("Messi")).findFirst().get();
+
+        jana.increaseAge();
+        messi.increaseAge();
+        roster.remove(messi);
+        roster.add(new Footballer("Aitana", 22, Gender.FEMALE, List.of("CM", "CAM")));
+
+        Assertions.assertEquals(4, aggregates.count(Gender.MALE));
+        Assertions.assertEquals(4, aggregates.count(Gender.FEMALE));
+        Assertions.assertEquals(18, aggregates.minAge().getAsInt());
+        Assertions.assertEquals(29, aggregates.maxAge().getAsInt());
+        Assertions.assertEquals(5, aggregates.positionCount("CAM"));
+        Assertions.assertEquals(1, aggregates.positionCount("RF"));
+        Assertions.assertEquals(0, aggregates.countByAge(17));
+
+        messi.increaseAge();
+        Assertions.assertEquals(0, aggregates.countByAge(34));
+    }
+
+    @Test
+    public void concurrentAgeingKeepsTheHistogramExact() {
+        Roster big = new Roster(new RosterGenerator(5).stream(50_000).collect(Collectors.toList()));
+        RosterAggregates bigAggregates = RosterAggregates.of(big);
+        int max = big.stream().mapToInt(Footballer::getAge).max().getAsInt();
+
+        big.ageAll();
+        big.ageAll();
+
+        Assertions.assertEquals(50_000, bigAggregates.size());
+        Assertions.assertEquals(max + 2, bigAggregates.maxAge().getAsInt());
+        Assertions.assertEquals(big.stream().filter(footballer -> footballer.getAge() == 30).count(), bigAggregates.countByAge(30));
+    }
+
+    @Test
+    public void footballerBelongsToOneRoster() {
+        Footballer messi = roster.footballers().get(0);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Roster().add(messi));
+    }
+
+    @Test
+    public void removingEveryoneLeavesNothingBehind() {
+        roster.footballers().get(0).increaseAge();
+        roster.footballers().forEach(roster::remove);
+
+        Assertions.assertEquals(0, aggregates.size());
+        Assertions.assertEquals(0, aggregates.count(Gender.MALE));
+        Assertions.assertEquals(0, aggregates.count(Gender.FEMALE));
+        Assertions.assertFalse(aggregates.minAge().isPresent());
+        Assertions.assertFalse(aggregates.percentileAge(50).isPresent());
+        Assertions.assertEquals(0, aggregates.countByAge(33));
+        Assertions.assertTrue(aggregates.positionCounts().isEmpty());
+    }
+
+    @Test
+    public void aggregatesStartFromTheCurrentMembers() {
+        Footballer messi = roster.footballers().get(0);
+        roster.remove(messi);
+        RosterAggregates late = RosterAggregates.of(roster);
+
+        Assertions.assertEquals(7, late.size());
+        Assertions.assertEquals(4, late.count(Gender.MALE));
+        Assertions.assertEquals(0, late.countByAge(32));
+        Assertions.assertEquals(2, late.positionCount("CF"));
+
+        roster.remove(roster.footballers().get(0));
+        Assertions.assertEquals(6, late.size());
+        Assertions.assertEquals(3, late.count(Gender.MALE));
+        Assertions.assertEquals(0, late.countByAge(28));
+        Assertions.assertEquals(1, late.positionCount("CF"));
+    }
+}
@@ -0,0 +1,271 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+public class RosterChangeFeedTest {
+
+    Roster roster;
+
+    @BeforeEach
+    public void init() {
+        this.roster = new Roster(Fixtures.footballers());
+    }
+
+    @Test
+    public void replaysThenStreamsChanges() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 4, 100, RosterChangeFeed.OverflowPolicy.ERROR, true, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        recorder.subscription.request(2);
+        Assertions.assertEquals(2, recorder.batches.size());
+        Assertions.assertEquals(4, recorder.batches.get(0).size());
+
+        Footballer pedri = new Footballer("Pedri", 17, Gender.MALE, List.of("CM"));
+        roster.add(pedri);
+        pedri.increaseAge();
+        roster.remove(pedri);
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        Assertions.assertEquals(List.of("ADDED Pedri", "AGE_CHANGED Pedri 17 -> 18", "REMOVED Pedri"),
+                recorder.changes().subList(8, 11));
+
+        feed.close();
+        Assertions.assertTrue(recorder.completed);
+        Assertions.assertEquals(0, feed.subscribers());
+    }
+
+    @Test
+    public void dropOldestBoundsBuffer() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 3, RosterChangeFeed.OverflowPolicy.DROP_OLDEST, false, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        roster.footballers().forEach(Footballer::increaseAge);
+        recorder.subscription.request(1);
+
+        Assertions.assertEquals(List.of("AGE_CHANGED Jennifer 29 -> 30", "AGE_CHANGED Jana 17 -> 18", "AGE_CHANGED Alexia 25 -> 26"),
+                recorder.changes());
+        Assertions.assertEquals(5, feed.dropped());
+    }
+
+    @Test
+    public void snapshotIsNeverTruncated() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 3, 2, RosterChangeFeed.OverflowPolicy.ERROR, true, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        roster.footballers().get(0).increaseAge();
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        Assertions.assertNull(recorder.error);
+        Assertions.assertEquals(9, recorder.changes().size());
+        Assertions.assertEquals("AGE_CHANGED Messi 32 -> 33", recorder.changes().get(8));
+    }
+
+    @Test
+    public void coalescesAgeChanges() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 2, RosterChangeFeed.OverflowPolicy.COALESCE, false, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+        Footballer messi = roster.footballers().get(0);
+        Footballer jana = roster.footballers().get(6);
+
+        messi.increaseAge();
+        jana.increaseAge();
+        messi.increaseAge();
+        messi.increaseAge();
+        recorder.subscription.request(1);
+
+        Assertions.assertEquals(List.of("AGE_CHANGED Messi 32 -> 35", "AGE_CHANGED Jana 17 -> 18"), recorder.changes());
+        Assertions.assertEquals(2, feed.coalesced());
+    }
+
+    @Test
+    public void cancelledPairsLeaveBuffer() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 4, RosterChangeFeed.OverflowPolicy.COALESCE, false, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+        roster.footballers().subList(0, 3).forEach(Footballer::increaseAge);
+
+        for (int i = 0; i < 10_000; i++) {
+            Footballer footballer = new Footballer("Player " + i, 20, Gender.MALE, List.of("CM"));
+            roster.add(footballer);
+            roster.remove(footballer);
+        }
+
+        Assertions.assertNull(recorder.error);
+        Assertions.assertEquals(3, feed.buffered());
+        Assertions.assertEquals(10_000, feed.coalesced());
+    }
+
+    @Test
+    public void overflowFailsSubscription() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 5, RosterChangeFeed.OverflowPolicy.ERROR, true, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        roster.footballers().forEach(Footballer::increaseAge);
+
+        Assertions.assertTrue(recorder.error instanceof IllegalStateException);
+        Assertions.assertEquals(0, feed.subscribers());
+        Assertions.assertEquals(0, roster.listenerCount());
+        recorder.subscription.request(1);
+        Assertions.assertTrue(recorder.batches.isEmpty());
+    }
+
+    @Test
+    public void terminatedDuringSubscribeIsNotRegistered() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 5, RosterChangeFeed.OverflowPolicy.ERROR, true, Runnable::run);
+        feed.subscribe(new Recorder() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.cancel();
+            }
+        });
+        feed.subscribe(new Recorder() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(-1);
+            }
+        });
+
+        Assertions.assertEquals(0, feed.subscribers());
+        Assertions.assertEquals(0, roster.listenerCount());
+    }
+
+    @Test
+    public void replayReachesSubscriberThatRequestsInOnSubscribe() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 4, 100, RosterChangeFeed.OverflowPolicy.ERROR, true, Runnable::run);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(Long.MAX_VALUE);
+            }
+        };
+        feed.subscribe(recorder);
+
+        Assertions.assertEquals(8, recorder.changes().size());
+    }
+
+    @Test
+    public void throwingSubscriberIsCancelled() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 100, RosterChangeFeed.OverflowPolicy.ERROR, false, Runnable::run);
+        Recorder recorder = new Recorder() {
+            @Override
+            public synchronized void onNext(List<RosterChange> batch) {
+                super.onNext(batch);
+                throw new IllegalStateException("consumer failed");
+            }
+        };
+        feed.subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        roster.footballers().get(0).increaseAge();
+        roster.footballers().get(1).increaseAge();
+
+        Assertions.assertEquals(1, recorder.batches.size());
+        Assertions.assertEquals(0, feed.subscribers());
+        Assertions.assertEquals(0, roster.listenerCount());
+    }
+
+    @Test
+    public void rejectedDrainCancelsSubscription() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 100, RosterChangeFeed.OverflowPolicy.ERROR, false, task -> {
+            throw new RejectedExecutionException("shut down");
+        });
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        Assertions.assertEquals(0, feed.subscribers());
+        Assertions.assertEquals(0, roster.listenerCount());
+        roster.footballers().get(0).increaseAge();
+        Assertions.assertTrue(recorder.batches.isEmpty());
+    }
+
+    @Test
+    public void ageChangesOfOneFootballerArriveInOrder() throws InterruptedException {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 100, 100_000, RosterChangeFeed.OverflowPolicy.ERROR, false, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+        Footballer messi = roster.footballers().get(0);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    messi.increaseAge();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int expected = 33;
+        for (List<RosterChange> batch : recorder.batches()) {
+            for (RosterChange change : batch) {
+                Assertions.assertEquals(expected++, change.newAge());
+            }
+        }
+        Assertions.assertEquals(4_032, messi.getAge());
+    }
+
+    @Test
+    public void rejectsNonPositiveRequest() {
+        RosterChangeFeed feed = new RosterChangeFeed(roster, 10, 100, RosterChangeFeed.OverflowPolicy.ERROR, false, Runnable::run);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+
+        recorder.subscription.request(0);
+
+        Assertions.assertTrue(recorder.error instanceof IllegalArgumentException);
+    }
+
+    private static class Recorder implements Flow.Subscriber<List<RosterChange>> {
+
+        Flow.Subscription subscription;
+        final List<List<RosterChange>> batches = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(List<RosterChange> batch) {
+            batches.add(batch);
+        }
+
+        synchronized List<List<RosterChange>> batches() {
+            return new ArrayList<>(batches);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<String> changes() {
+            return batches.stream().flatMap(List::stream).map(RosterChange::toString).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RosterGeneratorTest {
+
+    @Test
+    public void sameSeedGivesTheSameRoster() {
+        List<String> first = new RosterGenerator(7).stream(1_000).map(Footballer::toString).collect(Collectors.toList());
+        List<String> second = new RosterGenerator(7).stream(1_000).map(Footballer::toString).collect(Collectors.toList());
+        List<String> other = new RosterGenerator(8).stream(1_000).map(Footballer::toString).collect(Collectors.toList());
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertNotEquals(first, other);
+    }
+
+    @Test
+    public void parallelStreamGivesTheSameRosterAsSequential() {
+        RosterGenerator generator = new RosterGenerator(42);
+
+        List<String> sequential = generator.stream(10_000).map(Footballer::toString).collect(Collectors.toList());
+        List<String> parallel = generator.parallelStream(10_000).map(Footballer::toString).collect(Collectors.toList());
+
+        Assertions.assertEquals(sequential, parallel);
+        Assertions.assertEquals(generator.footballer(9_999).toString(), sequential.get(9_999));
+    }
+
+    @Test
+    public void distributionsAreRealistic() {
+        List<Footballer> roster = new RosterGenerator(1).stream(100_000).collect(Collectors.toList());
+
+        double males = roster.stream().filter(footballer -> footballer.getGender() == Gender.MALE).count();
+        double averageAge = roster.stream().mapToInt(Footballer::getAge).average().getAsDouble();
+
+        Assertions.assertEquals(0.6, males / roster.size(), 0.01);
+        Assertions.assertEquals(25.0, averageAge, 0.2);
+        Assertions.assertTrue(roster.stream().allMatch(footballer -> footballer.getAge() >= 16 && footballer.getAge() <= 40));
+        Assertions.assertTrue(roster.stream().allMatch(footballer -> !footballer.getPositions().isEmpty()));
+    }
+
+    @Test
+    public void sizeIsKnownUpFront() {
+        Assertions.assertEquals(100_000_000L, new RosterGenerator(1).spliterator(100_000_000L).estimateSize());
+        Assertions.assertEquals(3, new RosterGenerator(1).stream(100_000_000L).limit(3).count());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RosterGenerator(1).stream(-1));
+    }
+}
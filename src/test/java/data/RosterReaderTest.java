@@ -0,0 +1,97 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RosterReaderTest {
+
+    @Test
+    public void readsCsvWithHeader() throws IOException {
+        Path file = write("name,age,gender,positions\n"
+                + "Messi,32,MALE,CF|CAM|RF\r\n"
+                + "\n"
+                + "Jana,17,FEMALE,CB");
+
+        FootballerStore store = new RosterReader(RosterReader.Format.CSV).read(file);
+
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertEquals(List.of("CF", "CAM", "RF"), store.getPositions(0));
+        Assertions.assertEquals("Jana", store.getName(1));
+        Assertions.assertEquals(17, store.getAge(1));
+        Assertions.assertEquals(Gender.FEMALE, store.getGender(1));
+    }
+
+    @Test
+    public void readsNdjson() throws IOException {
+        Path file = write("{\"name\":\"Messi\",\"age\":32,\"gender\":\"MALE\",\"positions\":[\"CF\",\"CAM\",\"RF\"]}\n"
+                + "{ \"club\": \"FCB\", \"positions\": [], \"gender\": \"FEMALE\", \"age\": 29, \"name\": \"Jennifer \\\"Jenni\\\" Hermoso\" }\n");
+
+        List<Footballer> footballers = new ArrayList<>();
+        new RosterReader(RosterReader.Format.NDJSON).forEach(file, footballers::add);
+
+        Assertions.assertEquals(2, footballers.size());
+        Assertions.assertEquals(List.of("CF", "CAM", "RF"), footballers.get(0).getPositions());
+        Assertions.assertEquals("Jennifer \"Jenni\" Hermoso", footballers.get(1).getName());
+        Assertions.assertEquals(29, footballers.get(1).getAge());
+        Assertions.assertTrue(footballers.get(1).getPositions().isEmpty());
+    }
+
+    @Test
+    public void malformedRecordsReportTheirOffset() throws IOException {
+        Path file = write("Messi,32,MALE,CF\nPuig,twenty,MALE,CM\n");
+
+        IllegalArgumentException error = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new RosterReader(RosterReader.Format.CSV).read(file));
+
+        Assertions.assertTrue(error.getMessage().startsWith("Malformed record at byte 17"));
+    }
+
+    @Test
+    public void consumerAndStoreFailuresAreNotReportedAsMalformed() throws IOException {
+        Path file = write("Messi,32,MALE,CF\n");
+        IllegalStateException consumerError = Assertions.assertThrows(IllegalStateException.class,
+                () -> new RosterReader(RosterReader.Format.CSV).forEach(file, footballer -> {
+                    throw new IllegalStateException("consumer failed");
+                }));
+        Assertions.assertEquals("consumer failed", consumerError.getMessage());
+
+        StringBuilder positions = new StringBuilder();
+        for (int i = 0; i <= PositionDictionary.MAX_CODES; i++) {
+            positions.append(i == 0 ? "" : "|").append("P").append(i);
+        }
+        Path wide = write("Everywhere,30,MALE," + positions + "\n");
+        Assertions.assertThrows(IllegalStateException.class, () -> new RosterReader(RosterReader.Format.CSV).read(wide));
+    }
+
+    @Test
+    public void parallelReadKeepsFileOrder() throws IOException {
+        List<Footballer> roster = new RosterGenerator(11).stream(200_000).collect(Collectors.toList());
+        Path file = write(roster.stream()
+                .map(footballer -> footballer.getName() + "," + footballer.getAge() + "," + footballer.getGender()
+                        + "," + String.join("|", footballer.getPositions()))
+                .collect(Collectors.joining("\n")));
+
+        FootballerStore store = new RosterReader(RosterReader.Format.CSV).read(file, 4);
+
+        Assertions.assertEquals(roster.size(), store.size());
+        for (int row = 0; row < roster.size(); row += 101) {
+            Assertions.assertEquals(roster.get(row).toString(), store.get(row).toString());
+        }
+        Assertions.assertEquals(roster.get(roster.size() - 1).toString(), store.get(store.size() - 1).toString());
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile("roster", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,58 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+public class RosterTest {
+
+    Roster roster;
+    Roster empty;
+
+    @BeforeEach
+    public void init() {
+        this.roster = new Roster(Fixtures.footballers());
+        this.empty = new Roster();
+    }
+
+    @Test
+    public void ages() {
+        Assertions.assertEquals(8, roster.ages().count());
+        Assertions.assertEquals(201, roster.ages().sum());
+        Assertions.assertEquals(130, roster.ages(Gender.MALE).sum());
+        Assertions.assertEquals(71, roster.ages(Gender.FEMALE).sum());
+    }
+
+    @Test
+    public void agesAreReadWhenStreamIsCreated() {
+        IntStream ages = roster.ages();
+        roster.ageAll();
+        Assertions.assertEquals(201, ages.sum());
+        Assertions.assertEquals(209, roster.ages().sum());
+    }
+
+    @Test
+    public void count() {
+        Assertions.assertEquals(2, roster.count(Gender.FEMALE, a -> a > 24));
+        Assertions.assertEquals(5, roster.count(Gender.MALE, a -> true));
+        Assertions.assertEquals(0, empty.count(Gender.MALE, a -> true));
+    }
+
+    @Test
+    public void minMaxAndAverage() {
+        Assertions.assertEquals(17, roster.minAge().getAsInt());
+        Assertions.assertEquals(32, roster.maxAge().getAsInt());
+        Assertions.assertEquals(25.125, roster.averageAge().getAsDouble(), 1e-9);
+    }
+
+    @Test
+    public void emptyRoster() {
+        Assertions.assertEquals(0, empty.ages().count());
+        Assertions.assertEquals(0, empty.ages(Gender.FEMALE).count());
+        Assertions.assertFalse(empty.minAge().isPresent());
+        Assertions.assertFalse(empty.maxAge().isPresent());
+        Assertions.assertFalse(empty.averageAge().isPresent());
+    }
+}
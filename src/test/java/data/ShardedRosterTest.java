@@ -0,0 +1,126 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class ShardedRosterTest {
+
+    @Test
+    public void localShardsMatchSingleRoster() {
+        try (ShardedRoster roster = ShardedRoster.local(4)) {
+            roster.addAll(Fixtures.footballers());
+            FootballerQuery females = FootballerQuery.all().gender(Gender.FEMALE);
+
+            Assertions.assertEquals(8, roster.size());
+            Assertions.assertEquals(2, roster.count(females.olderThan(23)));
+            Assertions.assertEquals(17, roster.minAge(females).getAsInt());
+            Assertions.assertEquals(32, roster.maxAge(FootballerQuery.all()).getAsInt());
+            Assertions.assertEquals(25.125, roster.averageAge(FootballerQuery.all()).getAsDouble(), 1e-9);
+            Assertions.assertTrue(roster.minAge(females.olderThan(40)).isEmpty());
+            Assertions.assertEquals(Set.of("CF", "CAM", "LF", "CM", "GK", "CDM"),
+                    roster.distinctPositions(FootballerQuery.all().gender(Gender.MALE).youngerThan(30)));
+            Assertions.assertEquals(List.of("Alexia", "Jana", "Jennifer", "Arthur", "Griezmann"),
+                    names(roster.page(FootballerQuery.all(), 0, 5, SortKey.GENDER, SortKey.NAME)));
+            Assertions.assertEquals(List.of("Messi", "Puig", "Ter Stegen"),
+                    names(roster.page(FootballerQuery.all(), 5, 5, SortKey.GENDER, SortKey.NAME)));
+            Assertions.assertEquals(Set.of("Jennifer", "Alexia"), Set.copyOf(names(roster.list(females.olderThan(23)))));
+            Assertions.assertEquals(201, (int) roster.reduce(FootballerQuery.all(), 0,
+                    (sum, footballer) -> sum + footballer.getAge(), Integer::sum));
+        }
+    }
+
+    @Test
+    public void pagesMatchSortedStream() {
+        List<Footballer> generated = new RosterGenerator(5).stream(10_000).collect(Collectors.toList());
+        try (ShardedRoster roster = ShardedRoster.local(3)) {
+            roster.addAll(generated);
+
+            List<String> expected = generated.stream()
+                    .filter(f -> f.getGender() == Gender.MALE)
+                    .sorted(SortKey.comparator(List.of(SortKey.AGE, SortKey.NAME)))
+                    .skip(100)
+                    .limit(20)
+                    .map(Footballer::getName)
+                    .collect(Collectors.toList());
+
+            Assertions.assertEquals(expected,
+                    names(roster.page(FootballerQuery.all().gender(Gender.MALE), 100, 20, SortKey.AGE, SortKey.NAME)));
+        }
+    }
+
+    @Test
+    public void remoteShardsOverLoopback() throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        List<ShardServer> servers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ShardServer server = new ShardServer().start();
+            servers.add(server);
+            shards.add(RemoteShard.connect(server.port()));
+        }
+        try (ShardedRoster roster = new ShardedRoster(shards)) {
+            roster.addAll(Fixtures.footballers());
+
+            Assertions.assertEquals(8, roster.size());
+            Assertions.assertEquals(5, roster.count(FootballerQuery.all().gender(Gender.MALE)));
+            Assertions.assertEquals(List.of("Jana"), names(roster.list(FootballerQuery.all().youngerThan(18))));
+            Assertions.assertEquals(25.125, roster.averageAge(FootballerQuery.all()).getAsDouble(), 1e-9);
+            Assertions.assertEquals("Messi", roster.reduce(FootballerQuery.all(), "",
+                    (oldest, footballer) -> footballer.getAge() == 32 ? footballer.getName() : oldest, String::concat));
+            Assertions.assertEquals(List.of("Jana", "Puig"), names(roster.page(FootballerQuery.all(), 0, 2, SortKey.AGE)));
+            Assertions.assertEquals(List.of("CB"), List.copyOf(roster.distinctPositions(FootballerQuery.all().named("Jana"))));
+        } finally {
+            servers.forEach(ShardServer::close);
+        }
+    }
+
+    @Test
+    public void spawnedShardsRunInChildProcessesUntilClosed() throws Exception {
+        Set<ProcessHandle> before = ProcessHandle.current().children().collect(Collectors.toSet());
+        List<ProcessHandle> children;
+        try (ShardedRoster roster = ShardedRoster.spawn(2)) {
+            children = ProcessHandle.current().children()
+                    .filter(child -> !before.contains(child))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(2, children.size());
+            children.forEach(child -> Assertions.assertTrue(child.isAlive()));
+
+            roster.addAll(Fixtures.footballers());
+            Assertions.assertEquals(8, roster.size());
+            Assertions.assertEquals(25.125, roster.averageAge(FootballerQuery.all()).getAsDouble(), 1e-9);
+        }
+        for (ProcessHandle child : children) {
+            child.onExit().get(10, TimeUnit.SECONDS);
+            Assertions.assertFalse(child.isAlive());
+        }
+    }
+
+    @Test
+    public void pageArgumentsAreCheckedBeforeAnyShardIsAsked() throws IOException {
+        ShardServer server = new ShardServer().start();
+        List<ShardedRoster> rosters = List.of(ShardedRoster.local(2), new ShardedRoster(List.of(RemoteShard.connect(server.port()))));
+        try {
+            for (ShardedRoster roster : rosters) {
+                roster.addAll(Fixtures.footballers());
+                Assertions.assertThrows(IllegalArgumentException.class, () -> roster.page(FootballerQuery.all(), 0, -1, SortKey.AGE));
+                Assertions.assertThrows(IllegalArgumentException.class, () -> roster.page(FootballerQuery.all(), -1, 2, SortKey.AGE));
+                Assertions.assertThrows(IllegalArgumentException.class, () -> roster.page(FootballerQuery.all(), 0, 2));
+                Assertions.assertThrows(IllegalArgumentException.class,
+                        () -> roster.page(FootballerQuery.all(), Integer.MAX_VALUE, 1, SortKey.AGE));
+            }
+        } finally {
+            rosters.forEach(ShardedRoster::close);
+            server.close();
+        }
+    }
+
+    private static List<String> names(List<Footballer> footballers) {
+        return footballers.stream().map(Footballer::getName).collect(Collectors.toList());
+    }
+}
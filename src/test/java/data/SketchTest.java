@@ -0,0 +1,79 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SketchTest {
+
+    @Test
+    public void hyperLogLogDistinctPositions() {
+        long distinct = Fixtures.footballers().stream()
+                .flatMap(f -> f.getPositions().stream())
+                .collect(HyperLogLog.collector(0.02))
+                .estimate();
+
+        Assertions.assertEquals(8, distinct);
+    }
+
+    @Test
+    public void hyperLogLogWithinErrorAndMergeable() {
+        HyperLogLog sketch = IntStream.range(0, 200_000).parallel()
+                .mapToObj(i -> "player-" + (i % 100_000))
+                .collect(HyperLogLog.collector(0.01));
+
+        Assertions.assertEquals(100_000, sketch.estimate(), 100_000 * 3 * sketch.relativeError());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sketch.merge(new HyperLogLog(4)));
+    }
+
+    @Test
+    public void countMinNeverUndercounts() {
+        List<Footballer> generated = new RosterGenerator(9).stream(20_000).collect(Collectors.toList());
+        CountMinSketch sketch = generated.parallelStream()
+                .collect(CountMinSketch.collector(0.001, 0.01, Footballer::getName));
+        Map<String, Long> exact = generated.stream()
+                .collect(Collectors.groupingBy(Footballer::getName, Collectors.counting()));
+
+        Assertions.assertEquals(20_000, sketch.total());
+        exact.forEach((name, count) -> {
+            Assertions.assertTrue(sketch.estimate(name) >= count);
+            Assertions.assertTrue(sketch.estimate(name) <= count + 0.001 * 20_000 * 3, name);
+        });
+    }
+
+    @Test
+    public void heavyHittersFindTopPositions() {
+        List<Footballer> generated = new RosterGenerator(9).stream(50_000).collect(Collectors.toList());
+        List<String> positions = generated.stream().flatMap(f -> f.getPositions().stream()).collect(Collectors.toList());
+        List<String> exactTop = positions.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(3)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        HeavyHitters summary = positions.parallelStream().collect(HeavyHitters.collector(0.1));
+
+        Assertions.assertEquals(positions.size(), summary.total());
+        Assertions.assertEquals(exactTop, summary.top(3).stream().map(HeavyHitters.Item::value).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void heavyHittersBounds() {
+        HeavyHitters summary = new HeavyHitters(2);
+        summary.add("CAM", 5);
+        summary.add("CF", 3);
+        summary.add("GK");
+
+        Assertions.assertEquals(5, summary.estimate("CAM"));
+        Assertions.assertEquals(4, summary.estimate("GK"));
+        Assertions.assertEquals(3, summary.top(2).get(1).error());
+        Assertions.assertEquals(4, summary.estimate("CB"));
+    }
+}
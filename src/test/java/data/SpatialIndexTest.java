@@ -0,0 +1,105 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class SpatialIndexTest {
+
+    private static final Color[] COLORS = {Color.RED, Color.GREEN, Color.BLUE};
+
+    @Test
+    public void gridMatchesALinearScan() {
+        List<ColorPoint> points = randomPoints(20_000, false);
+
+        check(GridIndex.bulkLoad(points, 8), points);
+    }
+
+    @Test
+    public void quadTreeMatchesALinearScan() {
+        List<ColorPoint> points = randomPoints(20_000, true);
+
+        check(QuadTree.bulkLoad(points), points);
+    }
+
+    @Test
+    public void incrementalInsertAndRemove() {
+        List<SpatialIndex<ColorPoint>> indexes = List.of(new GridIndex<>(0, 0, 99, 99, 10), new QuadTree<>(0, 0, 4));
+        for (SpatialIndex<ColorPoint> index : indexes) {
+            List<ColorPoint> points = randomPoints(2_000, true);
+            points.forEach(index::insert);
+            index.insert(new ColorPoint(-500, 2_000, Color.RED));
+            points.add(new ColorPoint(-500, 2_000, Color.RED));
+            for (int i = 0; i < 500; i++) {
+                Assertions.assertTrue(index.remove(points.remove(points.size() - 1)));
+            }
+            Assertions.assertFalse(index.remove(new ColorPoint(-1, -1, Color.RED)));
+            Assertions.assertEquals(points.size(), index.size());
+            check(index, points);
+        }
+    }
+
+    @Test
+    public void filterByColor() {
+        List<ColorPoint> points = List.of(
+                new ColorPoint(1, 1, Color.RED),
+                new ColorPoint(2, 2, Color.BLUE),
+                new ColorPoint(9, 9, Color.RED));
+        QuadTree<ColorPoint> tree = QuadTree.bulkLoad(points);
+
+        List<ColorPoint> nearestRed = tree.nearest(2, 2, 1, point -> point.getColor().equals(Color.RED));
+        List<ColorPoint> blueInRange = tree.range(0, 0, 10, 10, point -> point.getColor().equals(Color.BLUE));
+
+        Assertions.assertEquals(List.of(points.get(0)), nearestRed);
+        Assertions.assertEquals(List.of(points.get(1)), blueInRange);
+    }
+
+    private void check(SpatialIndex<ColorPoint> index, List<ColorPoint> points) {
+        Random random = new Random(5);
+        for (int query = 0; query < 50; query++) {
+            int minX = random.nextInt(1_200) - 100;
+            int minY = random.nextInt(1_200) - 100;
+            int maxX = minX + random.nextInt(300);
+            int maxY = minY + random.nextInt(300);
+            List<ColorPoint> expected = points.stream()
+                    .filter(p -> p.getX() >= minX && p.getX() <= maxX && p.getY() >= minY && p.getY() <= maxY)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(sorted(expected), sorted(index.range(minX, minY, maxX, maxY)));
+
+            int x = random.nextInt(1_400) - 200;
+            int y = random.nextInt(1_400) - 200;
+            Comparator<Point> byDistance = Comparator.comparingLong(p -> NearestNeighbours.squaredDistance(x, y, p.getX(), p.getY()));
+            List<Long> expectedDistances = points.stream()
+                    .filter(p -> p.getColor().equals(Color.GREEN))
+                    .sorted(byDistance)
+                    .limit(10)
+                    .map(p -> NearestNeighbours.squaredDistance(x, y, p.getX(), p.getY()))
+                    .collect(Collectors.toList());
+            List<Long> distances = index.nearest(x, y, 10, p -> p.getColor().equals(Color.GREEN)).stream()
+                    .map(p -> NearestNeighbours.squaredDistance(x, y, p.getX(), p.getY()))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expectedDistances, distances);
+        }
+    }
+
+    private List<String> sorted(List<ColorPoint> points) {
+        return points.stream().map(p -> p.getX() + "," + p.getY() + "," + p.getColor().getRGB()).sorted().collect(Collectors.toList());
+    }
+
+    private List<ColorPoint> randomPoints(int count, boolean clustered) {
+        Random random = new Random(count);
+        List<ColorPoint> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int x = clustered && i % 2 == 0 ? 500 + (int) (random.nextGaussian() * 20) : random.nextInt(1_000);
+            int y = clustered && i % 2 == 0 ? 500 + (int) (random.nextGaussian() * 20) : random.nextInt(1_000);
+            points.add(new ColorPoint(x, y, COLORS[random.nextInt(COLORS.length)]));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,71 @@
+package data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TopKTest {
+
+    private static final Comparator<Footballer> BY_GENDER_AND_NAME =
+            Comparator.comparing(Footballer::getGender).thenComparing(Footballer::getName);
+
+    List<Footballer> footballerList;
+
+    @BeforeEach
+    public void init() {
+        this.footballerList = Fixtures.footballers();
+    }
+
+    @Test
+    public void limit() {
+        List<Footballer> firstTwo = footballerList.stream()
+                .collect(TopK.first(2, BY_GENDER_AND_NAME));
+
+        Assertions.assertEquals(2, firstTwo.size());
+        Assertions.assertEquals("Alexia", firstTwo.get(0).getName());
+        Assertions.assertEquals("Jana", firstTwo.get(1).getName());
+    }
+
+    @Test
+    public void skip() {
+        List<Footballer> page = footballerList.stream()
+                .collect(TopK.page(5, 3, BY_GENDER_AND_NAME));
+
+        Assertions.assertEquals(3, page.size());
+        Assertions.assertEquals("Messi", page.get(0).getName());
+        Assertions.assertEquals("Puig", page.get(1).getName());
+        Assertions.assertEquals("Ter Stegen", page.get(2).getName());
+    }
+
+    @Test
+    public void pagePastTheEndIsEmpty() {
+        Assertions.assertTrue(footballerList.stream().collect(TopK.page(8, 3, BY_GENDER_AND_NAME)).isEmpty());
+        Assertions.assertTrue(footballerList.stream().collect(TopK.first(0, BY_GENDER_AND_NAME)).isEmpty());
+    }
+
+    @Test
+    public void matchesSortedSkipLimitIncludingTies() {
+        // generated names repeat a lot, so this also checks that equal elements keep their encounter order
+        List<Footballer> roster = new RosterGenerator(3).stream(20_000).collect(Collectors.toList());
+
+        List<Footballer> expected = roster.stream()
+                .sorted(BY_GENDER_AND_NAME)
+                .skip(40)
+                .limit(25)
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(expected, roster.stream().collect(TopK.page(40, 25, BY_GENDER_AND_NAME)));
+        Assertions.assertEquals(expected, roster.parallelStream().collect(TopK.page(40, 25, BY_GENDER_AND_NAME)));
+    }
+
+    @Test
+    public void negativeArgumentsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopK.page(-1, 3, Comparator.<Integer>naturalOrder()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Stream.of(1).collect(TopK.first(-1, Comparator.<Integer>naturalOrder())));
+    }
+}
@@ -2,6 +2,7 @@ package optional;
 
 
 import data.Computer;
+import data.DevicePath;
 import data.SoundCard;
 import data.USB;
 import org.junit.jupiter.api.Assertions;
@@ -344,6 +345,26 @@ public class OptionalTest {
         Assertions.assertEquals("UNKNOWN", name);
     }
 
+    /**
+     * The same walk as improvedVersionOfNullChecking without an Optional per hop: the path follows the nullable
+     * fields directly.
+     */
+    @Test
+    public void devicePathWithoutIntermediateOptionals() {
+        Assertions.assertEquals("version 0.1", DevicePath.USB_VERSION.resolve(new Computer(), "UNKNOWN"));
+        Assertions.assertEquals("UNKNOWN", DevicePath.USB_VERSION.resolve(null, "UNKNOWN"));
+        Assertions.assertEquals("UNKNOWN", DevicePath.USB_VERSION.resolve(new Computer(null), "UNKNOWN"));
+        Assertions.assertEquals("UNKNOWN", DevicePath.USB_VERSION.resolve(new Computer(new SoundCard(null)), "UNKNOWN"));
+    }
+
+    @Test
+    public void devicePathComposition() {
+        DevicePath<Integer> versionLength = DevicePath.SOUND_CARD_USB.then(USB::getVersion).then(String::length);
+
+        Assertions.assertEquals(11, versionLength.resolve(new Computer(), -1));
+        Assertions.assertEquals(-1, versionLength.resolve(new Computer(new SoundCard(null)), -1));
+        Assertions.assertTrue(new Computer(null).getSoundCard().isEmpty());
+    }
 
 
 